@@ -0,0 +1,151 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.TodolistApplication;
+import com.example.todolist.config.SchemaMigrationRunner;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.search.TaskSearchIndex;
+import com.example.todolist.service.TaskStatistics;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application context and deterministic task datasets shared by the benchmarks.
+ * The context runs on the H2 settings of application-test.properties with the read caches
+ * switched off, so the benchmarks measure the service and database paths themselves.
+ */
+final class BenchmarkData {
+
+    private static final String[] WORDS = {
+            "report", "review", "deploy", "invoice", "meeting", "design", "release", "budget",
+            "client", "migration", "backup", "roadmap", "hiring", "security", "audit", "launch"
+    };
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private BenchmarkData() {}
+
+    /**
+     * @param args command-line style overrides ("--name=value"), which take precedence over
+     *             application-test.properties and profile-specific files
+     */
+    static ConfigurableApplicationContext startContext(String... args) {
+        return new SpringApplicationBuilder(TodolistApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        // The context is closed by the benchmark, after JMH's own shutdown hooks
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE;IGNORECASE=TRUE",
+                        "todolist.cache.enabled=false",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "todolist.stats.reconcile-interval=PT24H",
+                        "logging.level.com.example.todolist=WARN")
+                .run(args);
+    }
+
+    /**
+     * Replaces the tasks table with `size` generated rows (IDs 1..size) and rebuilds the in-memory
+     * statistics and search index, which plain JDBC inserts bypass
+     */
+    static void load(ConfigurableApplicationContext context, int size) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("TRUNCATE TABLE tasks");
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < size; i++) {
+            Task task = newTask(i);
+            batch.add(new Object[]{
+                    (long) i + 1, task.getTitle(), task.getDescription(), Date.valueOf(task.getDueDate()),
+                    task.getProject(), task.isCompleted(), task.getPriority().getRank(),
+                    Timestamp.valueOf(task.getCreatedAt()), Timestamp.valueOf(task.getUpdatedAt())});
+            if (batch.size() == INSERT_BATCH_SIZE || i == size - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, due_date, project, completed,"
+                        + " priority_rank, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        context.getBean(SchemaMigrationRunner.class).run(null);
+        context.getBean(TaskStatistics.class).reload();
+        context.getBean(TaskSearchIndex.class).rebuild();
+    }
+
+    static void truncate(ConfigurableApplicationContext context) {
+        context.getBean(JdbcTemplate.class).execute("TRUNCATE TABLE tasks");
+        context.getBean(TaskStatistics.class).reload();
+        context.getBean(TaskSearchIndex.class).rebuild();
+    }
+
+    static Task newTask(int i) {
+        Task task = new Task(
+                WORDS[i % WORDS.length] + " " + WORDS[(i / 7) % WORDS.length] + " " + i,
+                "Generated task " + i + ": " + WORDS[(i / 3) % WORDS.length] + " and "
+                        + WORDS[(i / 11) % WORDS.length] + " for the " + WORDS[(i / 13) % WORDS.length] + " team",
+                FIRST_DUE_DATE.plusDays(i % 730),
+                "Project " + (i % 50));
+        task.setId((long) i + 1);
+        task.setCompleted(i % 4 == 0);
+        task.setPriority(Task.Priority.values()[i % 3]);
+        task.setCreatedAt(FIRST_CREATED_AT.plusMinutes(i));
+        task.setUpdatedAt(task.getCreatedAt());
+        return task;
+    }
+
+    static TaskDTO newTaskDTO(int i) {
+        Task task = newTask(i);
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setDueDate(task.getDueDate());
+        dto.setProject(task.getProject());
+        dto.setPriority(task.getPriority());
+        return dto;
+    }
+
+    static List<Task> newTasks(int size) {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(newTask(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes `size` generated tasks in the import/export JSON format to a temporary file
+     */
+    static Path writeTaskFile(int size) throws IOException {
+        Path file = Files.createTempFile("tasks-benchmark", ".json");
+        try (JsonGenerator json = new JsonFactory().createGenerator(Files.newOutputStream(file))) {
+            json.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                Task task = newTask(i);
+                json.writeStartObject();
+                json.writeStringField("title", task.getTitle());
+                json.writeStringField("description", task.getDescription());
+                json.writeStringField("dueDate", task.getDueDate().toString());
+                json.writeStringField("project", task.getProject());
+                json.writeStringField("priority", task.getPriority().name());
+                json.writeBooleanField("completed", task.isCompleted());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service throughput under the previous, verbose logging setup vs the production one, with several
+ * request threads. "verbose": synchronous console, application DEBUG, every statement printed
+ * (show-sql) and logged with its bound parameters. "production": asynchronous non-blocking console,
+ * application INFO, sampled SQL and slow-query logging.
+ * Console output goes to a temporary file for the run, so the terminal does not limit either mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+// Two JVMs per mode: logging throughput varies between runs, and the error must span that
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class LoggingBenchmark {
+
+    private static final int SIZE = 10_000;
+
+    @Param({"verbose", "production"})
+    private String logging;
+
+    private PrintStream originalOut;
+    private Path consoleFile;
+    private PrintStream console;
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Logback's console appender and show-sql both write to whatever System.out is at the time
+        originalOut = System.out;
+        consoleFile = Files.createTempFile("logging-benchmark", ".log");
+        OutputStream file = Files.newOutputStream(consoleFile);
+        console = new PrintStream(file, false);
+        System.setOut(console);
+
+        context = logging.equals("verbose")
+                ? BenchmarkData.startContext(
+                        "--spring.profiles.active=test,dev",
+                        "--logging.level.root=INFO",
+                        "--logging.level.com.example.todolist=DEBUG",
+                        "--logging.level.org.hibernate.SQL=DEBUG",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=TRACE",
+                        "--spring.jpa.show-sql=true",
+                        "--spring.jpa.properties.hibernate.format_sql=true")
+                : BenchmarkData.startContext(
+                        "--logging.level.root=INFO",
+                        "--logging.level.com.example.todolist=INFO",
+                        "--spring.jpa.properties.hibernate.log_slow_query=200",
+                        "--todolist.logging.sql-sample-rate=0.001");
+        BenchmarkData.load(context, SIZE);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        System.setOut(originalOut);
+        console.close();
+        System.out.printf("[%s] console output: %,d bytes%n", logging, Files.size(consoleFile));
+        Files.delete(consoleFile);
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, SIZE + 1);
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskById() {
+        return taskService.getTaskById(randomId());
+    }
+
+    @Benchmark
+    public Task toggle() {
+        return taskService.toggleTaskCompletion(randomId());
+    }
+
+    @Benchmark
+    public TaskPage<TaskRow> firstPage() {
+        return taskService.getTasksPage(TaskSort.DEFAULT, null, 20);
+    }
+}
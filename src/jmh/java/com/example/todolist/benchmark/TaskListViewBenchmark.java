@@ -0,0 +1,71 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A large dashboard list (all pending tasks) as managed entities vs TaskRow projections.
+ * Run with -Djmh.args="-prof gc" to compare the allocation per list (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskListViewBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readWrite;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startContext();
+        BenchmarkData.load(context, size);
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // The list as it was loaded before: managed entities, flushed and dirty-checked at commit
+    @Benchmark
+    public List<Task> pendingEntities() {
+        return readWrite.execute(status -> taskRepository.findByCompleted(false));
+    }
+
+    @Benchmark
+    public List<TaskRow> pendingRows() {
+        return taskService.getTasksByStatus(false);
+    }
+}
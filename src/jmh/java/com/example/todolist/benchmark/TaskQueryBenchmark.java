@@ -0,0 +1,84 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every sort mode as a full list and as keyset pages (first page and a page from the middle)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskQueryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"DEFAULT", "DATE_ASC", "DATE_DESC", "PROJECT", "PRIORITY", "CREATED"})
+    private TaskSort sort;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startContext();
+        BenchmarkData.load(context, size);
+        taskService = context.getBean(TaskService.class);
+        Task middle = context.getBean(TaskRepository.class).findById((long) size / 2).orElseThrow();
+        middleCursor = TaskCursor.after(sort, middle).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> fullList() {
+        return switch (sort) {
+            case DEFAULT -> taskService.getAllTasks();
+            case DATE_ASC -> taskService.getAllTasksSortedByDate(true);
+            case DATE_DESC -> taskService.getAllTasksSortedByDate(false);
+            case PROJECT -> taskService.getAllTasksSortedByProject();
+            case PRIORITY -> taskService.getAllTasksSortedByPriority();
+            case CREATED -> taskService.getAllTasksSortedByCreated();
+        };
+    }
+
+    @Benchmark
+    public TaskPage<TaskRow> firstPage() {
+        return taskService.getTasksPage(sort, null, TaskPage.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public TaskPage<TaskRow> middlePage() {
+        return taskService.getTasksPage(sort, middleCursor, TaskPage.DEFAULT_SIZE);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskStats;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskService;
+import com.example.todolist.service.TaskStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-task writes, keyword search and statistics through TaskService
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskServiceBenchmark {
+
+    private static final String[] QUERIES = {"report", "rev", "deploy client", "budget audit team", "migr"};
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private TaskStatistics taskStatistics;
+    private int created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startContext();
+        BenchmarkData.load(context, size);
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        taskStatistics = context.getBean(TaskStatistics.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    private String randomQuery() {
+        return QUERIES[ThreadLocalRandom.current().nextInt(QUERIES.length)];
+    }
+
+    @Benchmark
+    public Task create() {
+        return taskService.saveTask(BenchmarkData.newTaskDTO(size + created++));
+    }
+
+    @Benchmark
+    public Task update() {
+        long id = randomId();
+        return taskService.updateTask(id, BenchmarkData.newTaskDTO((int) id + 1));
+    }
+
+    @Benchmark
+    public Task toggle() {
+        return taskService.toggleTaskCompletion(randomId());
+    }
+
+    @Benchmark
+    public List<TaskRow> searchIndexed() {
+        return taskService.searchTasks(randomQuery());
+    }
+
+    // The LIKE query that search used before the index, for comparison
+    @Benchmark
+    public List<Task> searchLike() {
+        return taskRepository.searchTasksByKeyword(randomQuery());
+    }
+
+    @Benchmark
+    public TaskStats stats() {
+        return taskService.getTaskStats();
+    }
+
+    // Full recount with the aggregate query (startup and periodic reconciliation)
+    @Benchmark
+    public void statsReload() {
+        taskStatistics.reload();
+    }
+}
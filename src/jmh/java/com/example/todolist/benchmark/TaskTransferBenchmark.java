@@ -0,0 +1,104 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.service.ImportResult;
+import com.example.todolist.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-table JSON export and import. Each operation handles `size` tasks, so they are timed one shot at a time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskTransferBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExportState {
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        private int size;
+
+        private ConfigurableApplicationContext context;
+        private TaskService taskService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkData.startContext();
+            BenchmarkData.load(context, size);
+            taskService = context.getBean(TaskService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ImportState {
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        private int size;
+
+        private ConfigurableApplicationContext context;
+        private TaskService taskService;
+        private Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            context = BenchmarkData.startContext();
+            taskService = context.getBean(TaskService.class);
+            file = BenchmarkData.writeTaskFile(size);
+        }
+
+        // Every import starts from an empty table
+        @Setup(Level.Iteration)
+        public void emptyTable() {
+            BenchmarkData.truncate(context);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            context.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public void exportJson(ExportState state) {
+        state.taskService.exportTasksToJson(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public ImportResult importJson(ImportState state) throws IOException {
+        try (InputStream in = Files.newInputStream(state.file)) {
+            ImportResult result = state.taskService.importTasks(in);
+            if (result.getImportedCount() != state.size) {
+                throw new IllegalStateException("Import incomplete: " + result);
+            }
+            return result;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.todolist;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
 /**
  * Main SpringBoot Application class for TodoList Application
@@ -16,7 +17,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Save tasks to file
  * - Read from file
  */
-@SpringBootApplication
+// The reactive /api/v2 reads run without transactions; leaving out the R2DBC transaction manager keeps
+// the JPA one the only TransactionManager, so @Transactional needs no qualifier
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 public class TodolistApplication {
 
     public static void main(String[] args) {
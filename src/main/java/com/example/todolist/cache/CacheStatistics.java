@@ -0,0 +1,21 @@
+package com.example.todolist.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Hit, miss and eviction counters of one cache, as exposed by /api/cache/stats
+ */
+public record CacheStatistics(String name, long entries, long weight, long hits, long misses,
+                              double hitRate, long evictions) {
+
+    public static CacheStatistics of(CaffeineCache cache) {
+        var nativeCache = cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        long weight = nativeCache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+        return new CacheStatistics(cache.getName(), nativeCache.estimatedSize(), weight,
+                stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.todolist.cache;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached tasks and task lists when a change is written and again once it has been committed.
+ * A single-task change evicts that task, the status and project lists it was or is in,
+ * and the whole-table lists; bulk changes clear every cache.
+ * The second eviction catches entries refilled from the old rows while the writing transaction
+ * was still open; without it such an entry, with its old version, would be served until it expires.
+ */
+@Component
+public class TaskCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCacheInvalidator.class);
+
+    private final Cache taskById;
+    private final Cache tasksByFilter;
+    private final Cache tasksBySort;
+
+    public TaskCacheInvalidator(CacheManager cacheManager) {
+        this.taskById = cacheManager.getCache(TaskCaches.TASK_BY_ID);
+        this.tasksByFilter = cacheManager.getCache(TaskCaches.TASKS_BY_FILTER);
+        this.tasksBySort = cacheManager.getCache(TaskCaches.TASKS_BY_SORT);
+    }
+
+    // Inside the writing transaction, as the event is published
+    @EventListener
+    public void onTaskWritten(TaskChangedEvent event) {
+        evict(event);
+    }
+
+    // Ahead of TaskDataVersion, so a new data version is never served from stale cache entries
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event);
+    }
+
+    private void evict(TaskChangedEvent event) {
+        tasksBySort.clear();
+        if (event.type().isBulk()) {
+            taskById.clear();
+            tasksByFilter.clear();
+            logger.debug("Cleared task caches after {}", event.type());
+            return;
+        }
+        taskById.evict(event.taskId());
+        evictFilters(event.before());
+        evictFilters(event.after());
+    }
+
+    private void evictFilters(TaskSnapshot task) {
+        if (task == null) {
+            return;
+        }
+        tasksByFilter.evict(TaskCaches.statusKey(task.completed()));
+        if (task.project() != null) {
+            tasksByFilter.evict(TaskCaches.projectKey(task.project()));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.todolist.cache;
+
+import java.util.Locale;
+
+/**
+ * Names and keys of the caches in front of TaskService.
+ * Keys are built here so the @Cacheable expressions and the invalidation logic always agree.
+ */
+public final class TaskCaches {
+
+    // Single tasks by ID
+    public static final String TASK_BY_ID = "taskById";
+
+    // Tasks filtered by status or project; evicted per status/project when a task in them changes
+    public static final String TASKS_BY_FILTER = "tasksByFilter";
+
+    // Lists spanning the whole table (sorted lists, pages, date lists); any task change clears them
+    public static final String TASKS_BY_SORT = "tasksBySort";
+
+    private TaskCaches() {}
+
+    public static String statusKey(boolean completed) {
+        return "status:" + completed;
+    }
+
+    public static String projectKey(String project) {
+        return "project:" + (project == null ? "" : project.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todolist.config;
+
+import com.example.todolist.cache.TaskCaches;
+import com.example.todolist.model.TaskPage;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded Caffeine caches for TaskService reads.
+ * Each cache is limited by the number of tasks it holds (a list counts once per task)
+ * and by time since it was written; both are configurable per cache:
+ * todolist.cache.[name].max-tasks and todolist.cache.[name].ttl.
+ * Caching is ordered before transactions, so a hit does not open one.
+ * todolist.cache.enabled=false replaces them with no-op caches (e.g. to benchmark the uncached paths).
+ */
+@Configuration
+@EnableCaching(order = 0)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        if (!environment.getProperty("todolist.cache.enabled", Boolean.class, true)) {
+            return new NoOpCacheManager();
+        }
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                buildCache(environment, TaskCaches.TASK_BY_ID, 10_000, Duration.ofMinutes(1)),
+                buildCache(environment, TaskCaches.TASKS_BY_FILTER, 20_000, Duration.ofMinutes(5)),
+                buildCache(environment, TaskCaches.TASKS_BY_SORT, 50_000, Duration.ofMinutes(1))
+        ));
+        return cacheManager;
+    }
+
+    private static CaffeineCache buildCache(Environment environment, String name, long defaultMaxTasks, Duration defaultTtl) {
+        long maxTasks = environment.getProperty("todolist.cache." + name + ".max-tasks", Long.class, defaultMaxTasks);
+        Duration ttl = environment.getProperty("todolist.cache." + name + ".ttl", Duration.class, defaultTtl);
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumWeight(maxTasks)
+                .weigher((Object key, Object value) -> taskCount(value))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(), false);
+    }
+
+    private static int taskCount(Object value) {
+        if (value instanceof Collection<?> tasks) {
+            return Math.max(1, tasks.size());
+        }
+        if (value instanceof TaskPage<?> page) {
+            return Math.max(1, page.getItems().size());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todolist.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The JDBC DataSource behind JPA, built from spring.datasource.* and spring.datasource.hikari.*
+ * as Spring Boot would. Declared here because the DataSource auto-configuration steps aside as soon
+ * as an R2DBC ConnectionFactory exists, and the reactive /api/v2 reads add one.
+ * With read replicas on, ReplicaRoutingConfig provides the DataSource instead.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "todolist.replicas.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todolist.config;
+
+import com.example.todolist.push.TaskEventStream;
+import com.example.todolist.service.TaskStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Live event stream behind /api/tasks/events, configured by todolist.events.buffer-size (frames
+ * per client), max-subscribers, sender-threads, timeout (connection lifetime), send-timeout (time one
+ * write may block before the client is evicted as stalled) and heartbeat-interval.
+ * Each open stream is a parked async request, so the number of streams is bounded by the
+ * connector's connection limit (server.tomcat.max-connections), not by its threads.
+ */
+@Configuration
+public class EventStreamConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public TaskEventStream taskEventStream(TaskStatistics taskStatistics, ObjectMapper objectMapper,
+                                           Environment environment) {
+        return new TaskEventStream(taskStatistics::getStats, objectMapper,
+                environment.getProperty("todolist.events.buffer-size", Integer.class, 64),
+                environment.getProperty("todolist.events.max-subscribers", Integer.class, 10_000),
+                environment.getProperty("todolist.events.sender-threads", Integer.class, 2),
+                environment.getProperty("todolist.events.timeout", Duration.class, Duration.ofMinutes(30)),
+                environment.getProperty("todolist.events.send-timeout", Duration.class, Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todolist.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URISyntaxException;
+
+/**
+ * JCache manager behind Hibernate's second-level and query cache, configured from ehcache.xml.
+ * The manager comes from a caching provider owned by this application context instead of the
+ * JVM-wide Caching singleton, so its lifecycle follows the context.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() throws URISyntaxException {
+        EhcacheCachingProvider provider = new EhcacheCachingProvider();
+        return provider.getCacheManager(getClass().getResource("/ehcache.xml").toURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todolist.config;
+
+import com.example.todolist.logging.SampledSqlLogger;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL logging for production: a sample of the statements (todolist.logging.sql-sample-rate)
+ * instead of every statement. Slow statements are logged by Hibernate (hibernate.log_slow_query);
+ * the appenders are set up in logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLoggerCustomizer(
+            @Value("${todolist.logging.sql-sample-rate:0}") double sampleRate) {
+        return properties -> {
+            if (sampleRate > 0) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlLogger(sampleRate));
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todolist.config;
+
+import com.example.todolist.metrics.ServiceMetricsInterceptor;
+import com.example.todolist.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Latency timers around every TaskService method.
+ * HTTP handlers (http.server.requests), repositories (spring.data.repository.invocations),
+ * Hibernate statistics, the connection pool and the JVM are instrumented by Spring Boot's actuator;
+ * everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Infrastructure role: the auto-proxy creator only applies infrastructure advisors.
+    // Outermost advice, so cache hits and transaction overhead are part of the measured time.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new TaskServicePointcut(), new ServiceMetricsInterceptor(meterRegistry::getObject));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Methods of TaskService implementations that are declared by the TaskService interface
+     */
+    private static class TaskServicePointcut extends StaticMethodMatcherPointcut {
+
+        TaskServicePointcut() {
+            setClassFilter(new RootClassFilter(TaskService.class));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return ReflectionUtils.findMethod(TaskService.class, method.getName(), method.getParameterTypes()) != null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todolist.config;
+
+import com.example.todolist.reminder.LoggingReminderNotifier;
+import com.example.todolist.reminder.ReminderNotifier;
+import com.example.todolist.reminder.ReminderScheduler;
+import com.example.todolist.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Due-date reminders, configured by todolist.reminders.tick (wheel resolution), lead-time (how long
+ * before the start of the due date a reminder fires), horizon-days (how far ahead reminders are held
+ * in memory), max-scheduled and state-file (where the delivered position survives restarts).
+ * Off unless todolist.reminders.enabled=true; state-file is then required and must be absolute,
+ * so the position does not depend on the directory the application was started from.
+ * Reminders go to the ReminderNotifier bean, logging ones unless another is declared.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todolist.reminders.enabled", havingValue = "true")
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReminderNotifier reminderNotifier() {
+        return new LoggingReminderNotifier();
+    }
+
+    @Bean
+    public ReminderScheduler reminderScheduler(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                                               Clock clock, ReminderNotifier reminderNotifier, Environment environment) {
+        Path stateFile = Path.of(environment.getRequiredProperty("todolist.reminders.state-file"));
+        if (!stateFile.isAbsolute()) {
+            throw new IllegalStateException("todolist.reminders.state-file must be an absolute path: " + stateFile);
+        }
+        return new ReminderScheduler(taskRepository, transactionManager, clock, reminderNotifier,
+                environment.getProperty("todolist.reminders.tick", Duration.class, Duration.ofMinutes(1)),
+                environment.getProperty("todolist.reminders.lead-time", Duration.class, Duration.ofHours(24)),
+                environment.getProperty("todolist.reminders.horizon-days", Integer.class, 7),
+                environment.getProperty("todolist.reminders.max-scheduled", Integer.class, 1_000_000),
+                stateFile);
+    }
+}
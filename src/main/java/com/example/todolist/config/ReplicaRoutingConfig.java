@@ -0,0 +1,63 @@
+package com.example.todolist.config;
+
+import com.example.todolist.datasource.ReadYourWrites;
+import com.example.todolist.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, on with todolist.replicas.enabled. Replaces the auto-configured DataSource with a
+ * ReplicaRoutingDataSource, which sends the read-only transactions that opt in through ReplicaReads to a
+ * replica; cached and ETag-tagged reads stay on the primary. The primary is built from spring.datasource.* as before, and the replicas
+ * listed in todolist.replicas.urls share its credentials unless username/password are given, with a
+ * pool of pool-size each. selection is round-robin or least-loaded; a replica that fails to connect
+ * within connection-timeout is skipped for retry-interval; writers read the primary for read-your-writes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todolist.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment, Clock clock) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        String[] urls = environment.getRequiredProperty("todolist.replicas.urls", String[].class);
+        List<DataSource> replicas = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(environment.getProperty("todolist.replicas.username", properties.determineUsername()));
+            replica.setPassword(environment.getProperty("todolist.replicas.password", properties.determinePassword()));
+            replica.setMaximumPoolSize(environment.getProperty("todolist.replicas.pool-size", Integer.class,
+                    primary.getMaximumPoolSize()));
+            replica.setConnectionTimeout(environment.getProperty("todolist.replicas.connection-timeout", Duration.class,
+                    Duration.ofSeconds(2)).toMillis());
+            // Started on first use, so a replica that is down does not keep the application from starting
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas,
+                ReplicaRoutingDataSource.Selection.fromProperty(
+                        environment.getProperty("todolist.replicas.selection", "round-robin")),
+                new ReadYourWrites(environment.getProperty("todolist.replicas.read-your-writes", Duration.class,
+                        Duration.ofSeconds(5)), clock),
+                environment.getProperty("todolist.replicas.retry-interval", Duration.class, Duration.ofSeconds(30)),
+                clock);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.todolist.config;
+
+import com.example.todolist.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Idempotent data migrations that Hibernate's ddl-auto=update cannot express.
+ * Runs once at startup, after the schema has been created or updated.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchemaMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationRunner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaMigrationRunner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        alignTaskIdSequence(product);
+        copyLegacyPriority();
+    }
+
+    /**
+     * Task IDs used to come from an AUTO_INCREMENT column. Move the task_seq sequence
+     * past the highest existing ID so pooled sequence IDs never collide with old rows.
+     */
+    void alignTaskIdSequence(String product) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        // The pooled optimizer hands out (value - allocationSize, value], so leave a full block of headroom
+        long floor = maxId + Task.ID_ALLOCATION_SIZE + 1;
+
+        if ("MySQL".equalsIgnoreCase(product)) {
+            // MySQL has no sequences; Hibernate emulates task_seq with a single-row table
+            int updated = jdbcTemplate.update("UPDATE task_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                logger.info("Moved task_seq past existing task IDs, next value: {}", floor);
+            }
+        } else if ("H2".equalsIgnoreCase(product)) {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TASK_SEQ'", Long.class);
+            if (next != null && next < floor) {
+                jdbcTemplate.execute("ALTER SEQUENCE task_seq RESTART WITH " + floor);
+                logger.info("Moved task_seq past existing task IDs, next value: {}", floor);
+            }
+        } else {
+            logger.warn("Cannot align task_seq on {}; make sure it starts above {}", product, maxId);
+        }
+    }
+
+    /**
+     * Priority used to be stored by name in the priority column. Copy it into priority_rank for rows
+     * that do not have a rank yet; the old column is left in place, unused, and can be dropped by hand.
+     */
+    void copyLegacyPriority() {
+        if (!columnExists("tasks", "priority")) {
+            return;
+        }
+        int updated = jdbcTemplate.update("UPDATE tasks SET priority_rank = CASE priority"
+                + " WHEN 'LOW' THEN " + Task.Priority.LOW.getRank()
+                + " WHEN 'MEDIUM' THEN " + Task.Priority.MEDIUM.getRank()
+                + " WHEN 'HIGH' THEN " + Task.Priority.HIGH.getRank()
+                + " END WHERE priority_rank IS NULL AND priority IS NOT NULL");
+        if (updated > 0) {
+            logger.info("Copied legacy priority of {} tasks into priority_rank", updated);
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upper = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    upper ? table.toUpperCase() : table, upper ? column.toUpperCase() : column)) {
+                return columns.next();
+            }
+        }));
+    }
+}
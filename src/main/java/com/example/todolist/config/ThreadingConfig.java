@@ -0,0 +1,34 @@
+package com.example.todolist.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports which execution mode request handling runs in.
+ * Virtual threads are opt-in through the "virtual" profile (spring.threads.virtual.enabled)
+ * and only take effect on Java 21 or later.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logExecutionMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Execution mode: virtual threads");
+        } else if (requested) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "running on platform threads", Runtime.version().feature());
+        } else {
+            logger.info("Execution mode: platform threads");
+        }
+    }
+}
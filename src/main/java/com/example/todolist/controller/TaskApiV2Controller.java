@@ -0,0 +1,58 @@
+package com.example.todolist.controller;
+
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.model.TaskStats;
+import com.example.todolist.reactive.ReactiveTaskService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read API on R2DBC, next to the blocking /api/tasks. Handlers return Flux/Mono, so the servlet
+ * thread is released as soon as the query is issued and the response completes asynchronously.
+ * Lists are streamed as NDJSON (Accept: application/x-ndjson), one row written per row requested
+ * from the database; with Accept: application/json they are collected into one array instead.
+ */
+@RestController
+@RequestMapping("/api/v2/tasks")
+public class TaskApiV2Controller {
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    public TaskApiV2Controller(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    /**
+     * One of search, project, filter ("completed", "pending", "overdue") or sort, in that order of
+     * precedence; limit stops the query after that many rows
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TaskRow> getTasks(@RequestParam(required = false) String search,
+                                  @RequestParam(required = false) String project,
+                                  @RequestParam(required = false) String filter,
+                                  @RequestParam(required = false) String sort,
+                                  @RequestParam(required = false) Integer limit) {
+        Flux<TaskRow> rows = reactiveTaskService.findTasks(search, project, filter, TaskSort.fromParam(sort));
+        return limit != null && limit >= 0 ? rows.take(limit, true) : rows;
+    }
+
+    @GetMapping("/{id:\\d+}")
+    public Mono<ResponseEntity<TaskRow>> getTask(@PathVariable long id) {
+        return reactiveTaskService.findTask(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/stats")
+    public Mono<TaskStats> getStats() {
+        return reactiveTaskService.getStats();
+    }
+}
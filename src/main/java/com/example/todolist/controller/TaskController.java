@@ -1,23 +1,51 @@
 package com.example.todolist.controller;
 
+import com.example.todolist.cache.CacheStatistics;
 import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskBatchRequest;
 import com.example.todolist.model.TaskDTO;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.model.TaskStats;
+import com.example.todolist.push.TaskEventStream;
+import com.example.todolist.service.BatchResult;
+import com.example.todolist.service.ImportResult;
+import com.example.todolist.service.TaskDataVersion;
+import com.example.todolist.service.TaskDueDateIndex;
 import com.example.todolist.service.TaskService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Main Controller for TodoList Application
@@ -37,73 +65,78 @@ import java.util.logging.Logger;
 @RequestMapping("/")
 public class TaskController {
 
-    private static final Logger logger = Logger.getLogger(TaskController.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+
+    private static final int EXPORT_BUFFER_SIZE = 8192;
 
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskEventStream taskEventStream;
+
+    @Autowired
+    private TaskDataVersion taskDataVersion;
+
+    @Autowired
+    private TaskDueDateIndex dueDateIndex;
+
     /**
      * 5. Display all tasks - Main dashboard page
+     * Search, status filter, project, priority and due window combine freely with any sort (6, 7),
+     * and the result is paged with a keyset cursor.
      */
     @GetMapping({"/", "/tasks"})
     public String showAllTasks(@RequestParam(required = false) String sort,
                               @RequestParam(required = false) String filter,
                               @RequestParam(required = false) String project,
                               @RequestParam(required = false) String search,
+                              @RequestParam(required = false) String priority,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                              @RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size,
                               Model model) {
 
-        logger.info("Displaying all tasks with sort: " + sort + ", filter: " + filter + ", project: " + project);
-
-        List<Task> tasks;
-
-        // Apply search if provided
-        if (search != null && !search.trim().isEmpty()) {
-            tasks = taskService.searchTasks(search.trim());
-            model.addAttribute("searchKeyword", search);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Displaying all tasks with sort: {}, filter: {}, project: {}", sort, filter, project);
         }
-        // Apply filters
-        else if ("completed".equals(filter)) {
-            tasks = taskService.getTasksByStatus(true);
-        } else if ("pending".equals(filter)) {
-            tasks = taskService.getTasksByStatus(false);
-        } else if ("overdue".equals(filter)) {
-            tasks = taskService.getOverdueTasks();
-        } else if (project != null && !project.trim().isEmpty()) {
-            tasks = taskService.getTasksByProject(project);
-        }
-        // 6. Sort tasks by date
-        else if ("date-asc".equals(sort)) {
-            tasks = taskService.getAllTasksSortedByDate(true);
-        } else if ("date-desc".equals(sort)) {
-            tasks = taskService.getAllTasksSortedByDate(false);
-        }
-        // 7. Sort tasks by project
-        else if ("project".equals(sort)) {
-            tasks = taskService.getAllTasksSortedByProject();
-        } else if ("priority".equals(sort)) {
-            tasks = taskService.getAllTasksSortedByPriority();
-        } else if ("created".equals(sort)) {
-            tasks = taskService.getAllTasksSortedByCreated();
-        } else {
-            tasks = taskService.getAllTasks();
+
+        TaskFilter taskFilter = TaskFilter.fromParams(filter, project, search, priority, dueFrom, dueTo);
+        TaskPage<TaskRow> page = taskService.findTasks(taskFilter, TaskSort.fromParam(sort), cursor, size);
+        List<TaskRow> tasks = page.getItems();
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("currentCursor", cursor);
+        if (taskFilter.keyword() != null) {
+            model.addAttribute("searchKeyword", taskFilter.keyword());
         }
 
         // Add model attributes
         model.addAttribute("tasks", tasks);
+        // One date for every overdue flag on the page
+        model.addAttribute("today", dueDateIndex.today());
         model.addAttribute("taskDTO", new TaskDTO());
         model.addAttribute("projects", taskService.getAllProjects());
         model.addAttribute("priorities", Task.Priority.values());
 
         // Statistics
-        model.addAttribute("totalTasks", taskService.getTotalTasksCount());
-        model.addAttribute("completedTasks", taskService.getCompletedTasksCount());
-        model.addAttribute("pendingTasks", taskService.getPendingTasksCount());
-        model.addAttribute("overdueTasks", taskService.getOverdueTasksCount());
+        TaskStats stats = taskService.getTaskStats();
+        model.addAttribute("totalTasks", stats.total());
+        model.addAttribute("completedTasks", stats.completed());
+        model.addAttribute("pendingTasks", stats.pending());
+        model.addAttribute("overdueTasks", stats.overdue());
 
         // Current filter/sort info
         model.addAttribute("currentSort", sort);
         model.addAttribute("currentFilter", filter);
-        model.addAttribute("currentProject", project);
+        model.addAttribute("currentProject", taskFilter.project());
+        model.addAttribute("currentPriority", taskFilter.priority());
+        model.addAttribute("currentDueFrom", taskFilter.dueFrom());
+        model.addAttribute("currentDueTo", taskFilter.dueTo());
+        model.addAttribute("currentSize", size);
 
         return "index";
     }
@@ -116,7 +149,7 @@ public class TaskController {
                          BindingResult bindingResult,
                          RedirectAttributes redirectAttributes) {
 
-        logger.info("Adding new task: " + taskDTO.getTitle());
+        logger.debug("Adding new task: {}", taskDTO.getTitle());
 
         if (bindingResult.hasErrors()) {
             redirectAttributes.addFlashAttribute("error", "Please correct the form errors");
@@ -126,10 +159,10 @@ public class TaskController {
         try {
             Task savedTask = taskService.saveTask(taskDTO);
             redirectAttributes.addFlashAttribute("success", "Task '" + savedTask.getTitle() + "' added successfully!");
-            logger.info("Task added successfully with ID: " + savedTask.getId());
+            logger.debug("Task added successfully with ID: {}", savedTask.getId());
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error adding task: " + e.getMessage());
-            logger.severe("Error adding task: " + e.getMessage());
+            logger.error("Error adding task: {}", e.getMessage());
         }
 
         return "redirect:/";
@@ -141,16 +174,19 @@ public class TaskController {
     @PostMapping("/tasks/{id}/toggle")
     public String toggleTaskCompletion(@PathVariable Long id, RedirectAttributes redirectAttributes) {
 
-        logger.info("Toggling completion status for task ID: " + id);
+        logger.debug("Toggling completion status for task ID: {}", id);
 
         try {
             Task updatedTask = taskService.toggleTaskCompletion(id);
             String status = updatedTask.isCompleted() ? "completed" : "pending";
             redirectAttributes.addFlashAttribute("success", 
                 "Task '" + updatedTask.getTitle() + "' marked as " + status + "!");
+        } catch (OptimisticLockingFailureException e) {
+            redirectAttributes.addFlashAttribute("error", "The task is being changed by someone else, please try again");
+            logger.info("Conflict toggling task completion: {}", id);
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error updating task: " + e.getMessage());
-            logger.severe("Error toggling task completion: " + e.getMessage());
+            logger.error("Error toggling task completion: {}", e.getMessage());
         }
 
         return "redirect:/";
@@ -162,7 +198,7 @@ public class TaskController {
     @PostMapping("/tasks/{id}/delete")
     public String deleteTask(@PathVariable Long id, RedirectAttributes redirectAttributes) {
 
-        logger.info("Deleting task with ID: " + id);
+        logger.debug("Deleting task with ID: {}", id);
 
         try {
             Optional<Task> task = taskService.getTaskById(id);
@@ -176,7 +212,7 @@ public class TaskController {
             }
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error deleting task: " + e.getMessage());
-            logger.severe("Error deleting task: " + e.getMessage());
+            logger.error("Error deleting task: {}", e.getMessage());
         }
 
         return "redirect:/";
@@ -188,7 +224,7 @@ public class TaskController {
     @GetMapping("/tasks/{id}/edit")
     public String showEditTaskForm(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
 
-        logger.info("Showing edit form for task ID: " + id);
+        logger.debug("Showing edit form for task ID: {}", id);
 
         try {
             Optional<Task> taskOpt = taskService.getTaskById(id);
@@ -204,7 +240,7 @@ public class TaskController {
             }
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error loading task: " + e.getMessage());
-            logger.severe("Error loading task for edit: " + e.getMessage());
+            logger.error("Error loading task for edit: {}", e.getMessage());
             return "redirect:/";
         }
     }
@@ -218,7 +254,7 @@ public class TaskController {
                            BindingResult bindingResult,
                            RedirectAttributes redirectAttributes) {
 
-        logger.info("Updating task with ID: " + id);
+        logger.debug("Updating task with ID: {}", id);
 
         if (bindingResult.hasErrors()) {
             redirectAttributes.addFlashAttribute("error", "Please correct the form errors");
@@ -229,10 +265,15 @@ public class TaskController {
             Task updatedTask = taskService.updateTask(id, taskDTO);
             redirectAttributes.addFlashAttribute("success", 
                 "Task '" + updatedTask.getTitle() + "' updated successfully!");
-            logger.info("Task updated successfully: " + id);
+            logger.debug("Task updated successfully: {}", id);
+        } catch (OptimisticLockingFailureException e) {
+            redirectAttributes.addFlashAttribute("error",
+                "The task was changed by someone else since you opened it. Review the current version and edit again.");
+            logger.info("Stale edit of task {} rejected", id);
+            return "redirect:/tasks/" + id + "/edit";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error updating task: " + e.getMessage());
-            logger.severe("Error updating task: " + e.getMessage());
+            logger.error("Error updating task: {}", e.getMessage());
         }
 
         return "redirect:/";
@@ -240,29 +281,49 @@ public class TaskController {
 
     /**
      * 8. Save tasks to file - Export tasks as JSON
+     * The document is streamed to the client while rows are read, and gzip-compressed
+     * when the client sends Accept-Encoding: gzip. Answers 304 if the data is unchanged since the client's copy.
      */
     @GetMapping("/tasks/export")
-    public ResponseEntity<String> exportTasks() {
-
-        logger.info("Exporting tasks to JSON file");
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
 
-        try {
-            String jsonData = taskService.exportTasksToJson();
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setContentDispositionFormData("attachment", "todolist_tasks_export.json");
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        if (isNotModified(webRequest, gzip ? "gzip" : null)) {
+            return null;
+        }
+        logger.info("Exporting tasks to JSON file (gzip: {})", gzip);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentDispositionFormData("attachment", "todolist_tasks_export.json");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
 
-            logger.info("Tasks exported successfully");
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(jsonData);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+                    taskService.exportTasksToJson(gzipStream);
+                    gzipStream.finish();
+                } else {
+                    taskService.exportTasksToJson(outputStream);
+                }
+                logger.info("Tasks exported successfully");
+            } catch (RuntimeException e) {
+                // Headers are already committed at this point, so the client sees a truncated document
+                logger.error("Error exporting tasks: {}", e.getMessage());
+                throw e;
+            }
+        };
 
-        } catch (Exception e) {
-            logger.severe("Error exporting tasks: " + e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .body("{\"error\": \"Error exporting tasks: " + e.getMessage() + "\"}");
-        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
     }
 
     /**
@@ -272,25 +333,35 @@ public class TaskController {
     public String importTasks(@RequestParam("file") MultipartFile file, 
                              RedirectAttributes redirectAttributes) {
 
-        logger.info("Importing tasks from file: " + file.getOriginalFilename());
+        logger.info("Importing tasks from file: {}", file.getOriginalFilename());
 
         if (file.isEmpty()) {
             redirectAttributes.addFlashAttribute("error", "Please select a file to import");
             return "redirect:/";
         }
 
-        try {
-            String jsonData = new String(file.getBytes());
-            List<Task> importedTasks = taskService.importTasksFromJson(jsonData);
-
-            redirectAttributes.addFlashAttribute("success", 
-                "Successfully imported " + importedTasks.size() + " tasks!");
-            logger.info("Successfully imported " + importedTasks.size() + " tasks");
+        try (InputStream jsonStream = file.getInputStream()) {
+            ImportResult result = taskService.importTasks(jsonStream);
+
+            if (result.getFatalError() != null) {
+                redirectAttributes.addFlashAttribute("error",
+                    "Imported " + result.getImportedCount() + " tasks before the file could not be read: "
+                        + result.getFatalError());
+            } else if (result.getFailedCount() > 0) {
+                redirectAttributes.addFlashAttribute("error",
+                    "Imported " + result.getImportedCount() + " tasks, " + result.getFailedCount()
+                        + " rejected in " + result.getChunkErrors().size() + " chunk(s). First error: "
+                        + result.getChunkErrors().get(0).message());
+            } else {
+                redirectAttributes.addFlashAttribute("success",
+                    "Successfully imported " + result.getImportedCount() + " tasks!");
+            }
+            logger.info("Import of {} finished: {}", file.getOriginalFilename(), result);
 
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", 
                 "Error importing tasks: " + e.getMessage());
-            logger.severe("Error importing tasks: " + e.getMessage());
+            logger.error("Error importing tasks: {}", e.getMessage());
         }
 
         return "redirect:/";
@@ -302,10 +373,23 @@ public class TaskController {
     @PostMapping("/tasks/bulk/delete-completed")
     public String deleteCompletedTasks(RedirectAttributes redirectAttributes) {
         try {
-            long completedCount = taskService.getCompletedTasksCount();
-            taskService.deleteCompletedTasks();
+            int deletedCount = taskService.deleteCompletedTasks();
             redirectAttributes.addFlashAttribute("success", 
-                "Deleted " + completedCount + " completed tasks!");
+                "Deleted " + deletedCount + " completed tasks!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error deleting completed tasks: " + e.getMessage());
+        }
+        return "redirect:/";
+    }
+
+    @PostMapping("/tasks/bulk/delete-completed-older")
+    public String deleteCompletedTasksOlderThan(@RequestParam int days, RedirectAttributes redirectAttributes) {
+        try {
+            int deletedCount = taskService.deleteCompletedTasksOlderThan(days);
+            redirectAttributes.addFlashAttribute("success",
+                "Deleted " + deletedCount + " tasks completed more than " + days + " days ago!");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error deleting completed tasks: " + e.getMessage());
         }
@@ -315,26 +399,51 @@ public class TaskController {
     @PostMapping("/tasks/bulk/mark-all-completed")
     public String markAllTasksCompleted(RedirectAttributes redirectAttributes) {
         try {
-            List<Task> updatedTasks = taskService.markAllTasksAsCompleted();
+            int updatedCount = taskService.markAllTasksAsCompleted();
             redirectAttributes.addFlashAttribute("success", 
-                "Marked " + updatedTasks.size() + " tasks as completed!");
+                "Marked " + updatedCount + " tasks as completed!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error marking all tasks as completed: " + e.getMessage());
         }
         return "redirect:/";
     }
 
+    @PostMapping("/tasks/bulk/mark-all-incomplete")
+    public String markAllTasksIncomplete(RedirectAttributes redirectAttributes) {
+        try {
+            int updatedCount = taskService.markAllTasksAsIncomplete();
+            redirectAttributes.addFlashAttribute("success",
+                "Marked " + updatedCount + " tasks as pending!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error marking all tasks as pending: " + e.getMessage());
+        }
+        return "redirect:/";
+    }
+
+    @PostMapping("/tasks/bulk/complete-project")
+    public String completeProjectTasks(@RequestParam String project, RedirectAttributes redirectAttributes) {
+        try {
+            int updatedCount = taskService.markProjectTasksAsCompleted(project);
+            redirectAttributes.addFlashAttribute("success",
+                "Marked " + updatedCount + " tasks in '" + project + "' as completed!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error completing project tasks: " + e.getMessage());
+        }
+        return "redirect:/?project=" + UriUtils.encodeQueryParam(project, StandardCharsets.UTF_8);
+    }
+
     /**
      * 10. Exit functionality - Logout/Exit page
      */
     @GetMapping("/exit")
     public String showExitPage(Model model) {
-        logger.info("Showing exit/logout page");
+        logger.debug("Showing exit/logout page");
 
         // Add final statistics
-        model.addAttribute("totalTasks", taskService.getTotalTasksCount());
-        model.addAttribute("completedTasks", taskService.getCompletedTasksCount());
-        model.addAttribute("pendingTasks", taskService.getPendingTasksCount());
+        TaskStats stats = taskService.getTaskStats();
+        model.addAttribute("totalTasks", stats.total());
+        model.addAttribute("completedTasks", stats.completed());
+        model.addAttribute("pendingTasks", stats.pending());
 
         return "exit";
     }
@@ -347,28 +456,122 @@ public class TaskController {
 
     /**
      * REST API Endpoints for AJAX calls
+     * The task list and statistics carry an ETag and Last-Modified from TaskDataVersion; a poll with a
+     * matching If-None-Match or If-Modified-Since gets 304 before the service is called.
      */
     @GetMapping("/api/tasks")
     @ResponseBody
-    public List<Task> getTasksApi() {
-        return taskService.getAllTasks();
+    public ResponseEntity<TaskPage<TaskRow>> getTasksApi(@RequestParam(required = false) String sort,
+                                                         @RequestParam(required = false) String filter,
+                                                         @RequestParam(required = false) String project,
+                                                         @RequestParam(required = false) String search,
+                                                         @RequestParam(required = false) String priority,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size,
+                                                         WebRequest webRequest) {
+        if (isNotModified(webRequest, null)) {
+            return null;
+        }
+        try {
+            TaskFilter taskFilter = TaskFilter.fromParams(filter, project, search, priority, dueFrom, dueTo);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(taskService.findTasks(taskFilter, TaskSort.fromParam(sort), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/api/cache/stats")
+    @ResponseBody
+    public List<CacheStatistics> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> CacheStatistics.of((CaffeineCache) cache))
+                .toList();
     }
 
     @GetMapping("/api/tasks/stats")
     @ResponseBody
-    public Object getTaskStats() {
-        return new Object() {
-            public final long total = taskService.getTotalTasksCount();
-            public final long completed = taskService.getCompletedTasksCount();
-            public final long pending = taskService.getPendingTasksCount();
-            public final long overdue = taskService.getOverdueTasksCount();
-        };
+    public ResponseEntity<TaskStats> getTaskStats(WebRequest webRequest) {
+        if (isNotModified(webRequest, null)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(taskService.getTaskStats());
+    }
+
+    /**
+     * Live dashboard updates as Server-Sent Events: "stats" on connect and after changes, "task" for each
+     * created, updated, toggled or deleted task. Answers 503 when the subscriber limit is reached.
+     */
+    @GetMapping(path = "/api/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> streamTaskEvents() {
+        SseEmitter emitter = taskEventStream.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok(emitter);
     }
 
+    /**
+     * Flips the completion state. With ?version= the toggle only applies if the task is still at that
+     * version and answers 409 Conflict otherwise; without it the toggle applies to the current state.
+     */
     @PostMapping("/api/tasks/{id}/toggle")
     @ResponseBody
-    public Task toggleTaskApi(@PathVariable Long id) {
-        return taskService.toggleTaskCompletion(id);
+    public ResponseEntity<Task> toggleTaskApi(@PathVariable Long id, @RequestParam(required = false) Long version) {
+        try {
+            return ResponseEntity.ok(taskService.toggleTaskCompletion(id, version));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Applies mixed create/update/toggle/delete operations in one transaction and reports each one.
+     * 200 if all were applied; 207 if a best-effort batch applied only some; 409 if an atomic batch
+     * was rolled back; 400 for an empty or oversized batch or a body that is not a valid batch.
+     */
+    @PostMapping("/api/tasks/batch")
+    @ResponseBody
+    public ResponseEntity<BatchResult> applyBatchApi(@RequestBody TaskBatchRequest request) {
+        BatchResult result;
+        try {
+            result = taskService.applyBatch(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (result.isComplete()) {
+            return ResponseEntity.ok(result);
+        }
+        HttpStatus status = request.mode() == TaskBatchRequest.Mode.ATOMIC ? HttpStatus.CONFLICT : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * Evaluates the conditional request headers against the current data version. Sets ETag and
+     * Last-Modified on the response and, if the client's copy is current, the 304 status; the handler
+     * then returns null without building a body. The version is read before the data, so a response
+     * never carries a version newer than its content.
+     */
+    private boolean isNotModified(WebRequest webRequest, String variant) {
+        return webRequest.checkNotModified(taskDataVersion.getETag(variant), taskDataVersion.getLastModified());
+    }
+
+    /**
+     * Unreadable JSON bodies (only the API takes them) answer 400 rather than redirecting to the page
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseBody
+    public ResponseEntity<Void> handleUnreadableBody(HttpMessageNotReadableException e) {
+        logger.debug("Unreadable request body: {}", e.getMessage());
+        return ResponseEntity.badRequest().build();
     }
 
     /**
@@ -376,7 +579,7 @@ public class TaskController {
      */
     @ExceptionHandler(Exception.class)
     public String handleError(Exception e, Model model, RedirectAttributes redirectAttributes) {
-        logger.severe("Controller error: " + e.getMessage());
+        logger.error("Controller error: {}", e.getMessage());
         redirectAttributes.addFlashAttribute("error", "An error occurred: " + e.getMessage());
         return "redirect:/";
     }
@@ -0,0 +1,78 @@
+package com.example.todolist.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Keeps a writer's reads on the primary for a window after its write, long enough for the replicas
+ * to catch up. In a web request the writer is the HTTP session, so the redirect after a form post
+ * (which already carries the session of its flash attributes) sees the new task. API requests under
+ * /api/ are stateless: they use a session only if the client already has one, and otherwise only the
+ * rest of the request reads the primary. Elsewhere, e.g. in scheduled or batch work, the writer is the thread.
+ */
+public class ReadYourWrites {
+
+    static final String ATTRIBUTE = ReadYourWrites.class.getName() + ".primaryUntil";
+
+    private final Duration window;
+    private final Clock clock;
+    private final ThreadLocal<Long> threadPrimaryUntil = new ThreadLocal<>();
+
+    public ReadYourWrites(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Called once a transaction has committed changes
+     */
+    public void recordWrite() {
+        long until = clock.millis() + window.toMillis();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            threadPrimaryUntil.set(until);
+            return;
+        }
+        attributes.setAttribute(ATTRIBUTE, until, RequestAttributes.SCOPE_REQUEST);
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            try {
+                HttpSession session = request.getSession(!isApiRequest(request));
+                if (session != null) {
+                    session.setAttribute(ATTRIBUTE, until);
+                }
+            } catch (IllegalStateException e) {
+                // Response already committed, so no session can be started; the request attribute remains
+            }
+        }
+    }
+
+    public boolean requiresPrimary() {
+        long now = clock.millis();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            Long until = threadPrimaryUntil.get();
+            if (until != null && until <= now) {
+                threadPrimaryUntil.remove();
+            }
+            return until != null && until > now;
+        }
+        // Looking into the session scope does not create a session
+        return isAfter(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST), now)
+                || isAfter(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_SESSION), now);
+    }
+
+    private static boolean isApiRequest(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    private static boolean isAfter(Object until, long now) {
+        return until instanceof Long millis && millis > now;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.todolist.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the reads a replica may serve. A read-only transaction reads the primary unless its first
+ * statement runs inside call(...).
+ * <p>
+ * Only reads whose results end up nowhere but in the response may opt in. A read that fills the service
+ * caches, the second-level or query cache, or a response tagged with the current ETag must read the
+ * primary: those are invalidated once, after the write commits, and a lagging replica could refill them
+ * with the old data until the next write.
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        if (Boolean.TRUE.equals(ALLOWED.get())) {
+            return reads.get();
+        }
+        ALLOWED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            ALLOWED.remove();
+        }
+    }
+
+    static boolean allowed() {
+        return Boolean.TRUE.equals(ALLOWED.get());
+    }
+}
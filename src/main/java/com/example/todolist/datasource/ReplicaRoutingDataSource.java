@@ -0,0 +1,343 @@
+package com.example.todolist.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * The routing happens when a transaction first runs a statement: this is a LazyConnectionDataSourceProxy,
+ * because the transaction manager asks for its connection before the transaction is marked read-only.
+ * Statements outside a transaction go to the primary, and so do read-only transactions that have not
+ * opted in through ReplicaReads: reads that fill a cache must see the writes that invalidated it.
+ * <p>
+ * A replica is picked round-robin, or as the one with the fewest connections checked out (least-loaded).
+ * A replica that cannot hand out a connection is skipped for retry-interval; when none can, the read
+ * falls back to the primary. A failure after the connection was handed out is the query's error, as
+ * on the primary. Writers read the primary for a while after committing changes (see ReadYourWrites).
+ * Configured in ReplicaRoutingConfig.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_LOADED;
+
+        /**
+         * Maps "round-robin" or "least-loaded" to a selection
+         */
+        public static Selection fromProperty(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final Router router;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Selection selection,
+                                    ReadYourWrites readYourWrites, Duration retryInterval, Clock clock) {
+        this.router = new Router(primary, replicas, selection, readYourWrites, retryInterval.toMillis(), clock);
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("todolist.datasource.connections", router.primaryConnections, AtomicLong::get)
+                .description("Connections handed out, by the database they came from")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("todolist.datasource.connections", router.replicaConnections, AtomicLong::get)
+                .description("Connections handed out, by the database they came from")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("todolist.datasource.replica.fallbacks", router.fallbacks, AtomicLong::get)
+                .description("Read-only transactions sent to the primary because no replica was available")
+                .register(registry);
+        for (Replica replica : router.replicas) {
+            Gauge.builder("todolist.datasource.replica.in-use", replica.inUse, AtomicInteger::get)
+                    .description("Connections checked out from the replica")
+                    .tag("replica", Integer.toString(replica.index))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Closes the primary and replica pools
+     */
+    @Override
+    public void close() {
+        closeQuietly(router.primary);
+        for (Replica replica : router.replicas) {
+            closeQuietly(replica.dataSource);
+        }
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Could not close {}: {}", dataSource, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Picks the database for each connection
+     */
+    private static final class Router extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final List<Replica> replicas;
+        private final Selection selection;
+        private final ReadYourWrites readYourWrites;
+        private final long retryMillis;
+        private final Clock clock;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private final AtomicLong primaryConnections = new AtomicLong();
+        private final AtomicLong replicaConnections = new AtomicLong();
+        private final AtomicLong fallbacks = new AtomicLong();
+
+        Router(DataSource primary, List<DataSource> replicas, Selection selection, ReadYourWrites readYourWrites,
+               long retryMillis, Clock clock) {
+            this.primary = primary;
+            List<Replica> list = new ArrayList<>(replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                list.add(new Replica(i, replicas.get(i)));
+            }
+            this.replicas = List.copyOf(list);
+            this.selection = selection;
+            this.readYourWrites = readYourWrites;
+            this.retryMillis = retryMillis;
+            this.clock = clock;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route(DataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route(dataSource -> dataSource.getConnection(username, password));
+        }
+
+        // Unwrapping reaches the primary pool, e.g. for its pool metrics
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || primary.isWrapperFor(iface);
+        }
+
+        private Connection route(ConnectionSource source) throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                Connection connection = fromPrimary(source);
+                return TransactionSynchronizationManager.isActualTransactionActive()
+                        && TransactionSynchronizationManager.isSynchronizationActive() ? trackWrites(connection) : connection;
+            }
+            if (replicas.isEmpty() || !ReplicaReads.allowed() || readYourWrites.requiresPrimary()) {
+                return fromPrimary(source);
+            }
+            long now = clock.millis();
+            boolean[] tried = new boolean[replicas.size()];
+            for (Replica replica = select(now, tried); replica != null; replica = select(now, tried)) {
+                tried[replica.index] = true;
+                try {
+                    Connection connection = source.get(replica.dataSource);
+                    replica.markUp();
+                    replicaConnections.incrementAndGet();
+                    return replica.track(connection);
+                } catch (SQLException e) {
+                    if (replica.markDown(now + retryMillis)) {
+                        // Qualified: AbstractDataSource has a commons-logging "logger" of its own
+                        ReplicaRoutingDataSource.logger.warn(
+                                "Replica {} unavailable, reading from the other databases for {} ms: {}",
+                                replica.index, retryMillis, e.getMessage());
+                    }
+                }
+            }
+            fallbacks.incrementAndGet();
+            return fromPrimary(source);
+        }
+
+        /**
+         * Marks the writer once the transaction commits, if one of its statements changed rows. Registered
+         * first, so after-commit listeners that reload read the primary too. A transaction that only reads
+         * marks nothing.
+         */
+        private Connection trackWrites(Connection connection) {
+            AtomicBoolean wrote = new AtomicBoolean();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    if (wrote.get()) {
+                        readYourWrites.recordWrite();
+                    }
+                }
+            });
+            return proxy(Connection.class, connection, (method, result) -> result instanceof Statement statement
+                    ? proxy(method.getReturnType(), statement, (executed, count) -> {
+                        if (changedRows(executed.getName(), count)) {
+                            wrote.set(true);
+                        }
+                        return count;
+                    })
+                    : result);
+        }
+
+        private static boolean changedRows(String method, Object result) {
+            return switch (method) {
+                case "executeUpdate", "executeLargeUpdate" -> ((Number) result).longValue() != 0;
+                case "executeBatch" -> Arrays.stream((int[]) result).anyMatch(count -> count != 0);
+                case "executeLargeBatch" -> Arrays.stream((long[]) result).anyMatch(count -> count != 0);
+                // false: no result set, so an update count or a DDL statement
+                case "execute" -> Boolean.FALSE.equals(result);
+                default -> false;
+            };
+        }
+
+        private Connection fromPrimary(ConnectionSource source) throws SQLException {
+            primaryConnections.incrementAndGet();
+            return source.get(primary);
+        }
+
+        /**
+         * Next available replica not tried yet, or null. Both modes start at a rotating offset,
+         * so least-loaded spreads ties instead of always taking the first replica.
+         */
+        private Replica select(long now, boolean[] tried) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            Replica chosen = null;
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (tried[replica.index] || !replica.isAvailable(now)) {
+                    continue;
+                }
+                if (selection == Selection.ROUND_ROBIN) {
+                    return replica;
+                }
+                if (chosen == null || replica.inUse.get() < chosen.inUse.get()) {
+                    chosen = replica;
+                }
+            }
+            return chosen;
+        }
+    }
+
+    private static final class Replica {
+
+        private final int index;
+        private final DataSource dataSource;
+        private final AtomicInteger inUse = new AtomicInteger();
+        // Epoch millis before which the replica is skipped; 0 while it is up
+        private final AtomicLong downUntil = new AtomicLong();
+
+        Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+
+        boolean isAvailable(long now) {
+            return downUntil.get() <= now;
+        }
+
+        void markUp() {
+            downUntil.set(0);
+        }
+
+        /**
+         * Returns whether the replica was up until now
+         */
+        boolean markDown(long until) {
+            return downUntil.getAndSet(until) == 0;
+        }
+
+        /**
+         * Counts the connection as in use until it is closed
+         */
+        Connection track(Connection connection) {
+            inUse.incrementAndGet();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> {
+                            if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                                inUse.decrementAndGet();
+                            }
+                            try {
+                                yield method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Proxies a JDBC interface, passing each call's result through the given function
+     */
+    private static <T> T proxy(Class<T> type, Object target, ResultFunction results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        try {
+                            yield results.apply(method, method.invoke(target, args));
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                }));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ResultFunction {
+        Object apply(Method method, Object result) throws SQLException;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.todolist.event;
+
+/**
+ * Published by TaskService for every write.
+ * Single-task changes carry the state before and/or after the change; bulk changes carry neither,
+ * and listeners that keep derived state are expected to resynchronise from the database.
+ * Listen with @TransactionalEventListener(fallbackExecution = true) so nothing is applied before commit.
+ */
+public record TaskChangedEvent(Type type, TaskSnapshot before, TaskSnapshot after) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, BULK_CREATED, BULK_UPDATED, BULK_DELETED;
+
+        public boolean isBulk() {
+            return this == BULK_CREATED || this == BULK_UPDATED || this == BULK_DELETED;
+        }
+    }
+
+    public static TaskChangedEvent created(TaskSnapshot after) {
+        return new TaskChangedEvent(Type.CREATED, null, after);
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangedEvent(Type.UPDATED, before, after);
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot before) {
+        return new TaskChangedEvent(Type.DELETED, before, null);
+    }
+
+    public static TaskChangedEvent bulk(Type type) {
+        return new TaskChangedEvent(type, null, null);
+    }
+
+    /**
+     * ID of the affected task, or null for bulk changes
+     */
+    public Long taskId() {
+        return after != null ? after.id() : before != null ? before.id() : null;
+    }
+}
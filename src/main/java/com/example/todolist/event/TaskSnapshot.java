@@ -0,0 +1,26 @@
+package com.example.todolist.event;
+
+import com.example.todolist.model.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a task's state at one point in a transaction.
+ * Events carry snapshots rather than entities, which keep changing after the event is published.
+ */
+public record TaskSnapshot(Long id,
+                           String title,
+                           String description,
+                           LocalDate dueDate,
+                           String project,
+                           Task.Priority priority,
+                           boolean completed,
+                           LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.getProject(), task.getPriority(), task.isCompleted(), task.getCreatedAt(), task.getUpdatedAt());
+    }
+}
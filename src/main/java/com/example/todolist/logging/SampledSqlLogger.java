@@ -0,0 +1,40 @@
+package com.example.todolist.logging;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a random sample of the SQL statements Hibernate prepares, to the "todolist.sql" category.
+ * Replaces logging every statement (org.hibernate.SQL) in production: a statement that is not
+ * sampled costs one random draw. Bind values are not logged; slow statements are logged in full
+ * by Hibernate itself (hibernate.log_slow_query).
+ */
+public class SampledSqlLogger implements StatementInspector {
+
+    public static final String CATEGORY = "todolist.sql";
+
+    private static final Logger logger = LoggerFactory.getLogger(CATEGORY);
+
+    private final double sampleRate;
+
+    /**
+     * @param sampleRate fraction of statements logged, from 0 (none) to 1 (all)
+     */
+    public SampledSqlLogger(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("SQL sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && logger.isInfoEnabled()) {
+            logger.info("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.todolist.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps Task.Priority to its one-byte rank (LOW=1, MEDIUM=2, HIGH=3),
+ * so ORDER BY and range predicates on the column follow priority order
+ */
+@Converter
+public class PriorityRankConverter implements AttributeConverter<Task.Priority, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(Task.Priority priority) {
+        return priority == null ? null : priority.getRank();
+    }
+
+    @Override
+    public Task.Priority convertToEntityAttribute(Byte rank) {
+        return rank == null ? null : Task.Priority.fromRank(rank);
+    }
+}
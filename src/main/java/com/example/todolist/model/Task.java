@@ -1,10 +1,15 @@
 package com.example.todolist.model;
 
+import com.example.todolist.search.TaskSearchIndexListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,11 +20,31 @@ import java.util.Objects;
  * Contains all necessary fields for TodoList functionality
  */
 @Entity
-@Table(name = "tasks")
+// Composite indexes follow the repository's access paths: status filters, project filters and the sort modes
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_completed_due_date", columnList = "completed, due_date"),
+        @Index(name = "idx_tasks_project_due_date", columnList = "project, due_date"),
+        @Index(name = "idx_tasks_priority_due_date", columnList = "priority_rank, due_date"),
+        @Index(name = "idx_tasks_created_at", columnList = "created_at")
+})
+@EntityListeners(TaskSearchIndexListener.class)
+// Second-level cached in the "task" region (ehcache.xml); read-write keeps it consistent with committed updates
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
+// Derived fields are exported but skipped on import, so exported files can be read back
+@JsonIgnoreProperties(value = {"overdue", "statusText", "statusClass", "version"}, allowGetters = true)
+// UPDATEs name only the changed columns, e.g. a toggle writes completed, updated_at and version
+@DynamicUpdate
 public class Task {
 
+    public static final String CACHE_REGION = "task";
+
+    // IDs handed out per sequence round trip; matches hibernate.jdbc.batch_size so inserts can be batched
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -43,8 +68,9 @@ public class Task {
     @Column(name = "completed", nullable = false)
     private boolean completed = false;
 
-    @Column(name = "priority")
-    @Enumerated(EnumType.STRING)
+    // Stored as its numeric rank so the column sorts LOW < MEDIUM < HIGH
+    @Column(name = "priority_rank")
+    @Convert(converter = PriorityRankConverter.class)
     private Priority priority = Priority.MEDIUM;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -53,6 +79,13 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: every UPDATE is conditional on the version the change was based on.
+    // The column default covers rows inserted outside JPA (existing rows get 0 when the column is added)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Task() {}
 
@@ -105,9 +138,19 @@ public class Task {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Helper methods
     public boolean isOverdue() {
-        return dueDate != null && dueDate.isBefore(LocalDate.now()) && !completed;
+        return isOverdueOn(LocalDate.now());
+    }
+
+    /**
+     * Overdue as of the given date; views pass one date captured per request
+     */
+    public boolean isOverdueOn(LocalDate today) {
+        return dueDate != null && dueDate.isBefore(today) && !completed;
     }
 
     public String getStatusText() {
@@ -115,8 +158,12 @@ public class Task {
     }
 
     public String getStatusClass() {
+        return statusClassOn(LocalDate.now());
+    }
+
+    public String statusClassOn(LocalDate today) {
         if (completed) return "success";
-        if (isOverdue()) return "danger";
+        if (isOverdueOn(today)) return "danger";
         return "primary";
     }
 
@@ -148,19 +195,31 @@ public class Task {
 
     // Priority enum
     public enum Priority {
-        LOW("Low", "success"),
-        MEDIUM("Medium", "warning"),
-        HIGH("High", "danger");
+        LOW("Low", "success", 1),
+        MEDIUM("Medium", "warning", 2),
+        HIGH("High", "danger", 3);
 
         private final String displayName;
         private final String cssClass;
+        private final byte rank;
 
-        Priority(String displayName, String cssClass) {
+        Priority(String displayName, String cssClass, int rank) {
             this.displayName = displayName;
             this.cssClass = cssClass;
+            this.rank = (byte) rank;
         }
 
         public String getDisplayName() { return displayName; }
         public String getCssClass() { return cssClass; }
+        public byte getRank() { return rank; }
+
+        public static Priority fromRank(byte rank) {
+            for (Priority priority : values()) {
+                if (priority.rank == rank) {
+                    return priority;
+                }
+            }
+            throw new IllegalArgumentException("Unknown priority rank: " + rank);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.example.todolist.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Body of POST /api/tasks/batch: operations applied in the given order.
+ * ATOMIC applies all of them or none; BEST_EFFORT applies every operation that can be applied
+ * and reports the others. Enum values are accepted in any case, e.g. "create" or "best_effort".
+ */
+public record TaskBatchRequest(Mode mode, List<Operation> operations) {
+
+    public enum Mode {
+        ATOMIC, BEST_EFFORT;
+
+        @JsonCreator
+        public static Mode fromJson(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public enum Action {
+        CREATE, UPDATE, TOGGLE, DELETE;
+
+        @JsonCreator
+        public static Action fromJson(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public TaskBatchRequest {
+        mode = mode == null ? Mode.ATOMIC : mode;
+        operations = operations == null ? List.of() : operations;
+    }
+
+    /**
+     * One operation. CREATE and UPDATE carry the task's fields; UPDATE, TOGGLE and DELETE name the task by id.
+     * A version (here or in the task) makes the operation fail with a conflict if the task has changed since.
+     */
+    public record Operation(Action action, Long id, Long version, TaskDTO task) {
+
+        public Long expectedVersion() {
+            return version != null ? version : task != null ? task.getVersion() : null;
+        }
+    }
+}
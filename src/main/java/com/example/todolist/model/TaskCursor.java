@@ -0,0 +1,86 @@
+package com.example.todolist.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursor: the sort mode plus the sort-key values of the last row of a page.
+ * Encoded as URL-safe Base64 of a small JSON array, so clients can pass it back untouched.
+ */
+public record TaskCursor(TaskSort sort, Object[] values) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    public static TaskCursor after(TaskSort sort, Task last) {
+        Object[] values = sort.getKeys().stream().map(key -> key.valueOf(last)).toArray();
+        return new TaskCursor(sort, values);
+    }
+
+    public static TaskCursor after(TaskSort sort, TaskRow last) {
+        Object[] values = sort.getKeys().stream().map(key -> key.valueOf(last)).toArray();
+        return new TaskCursor(sort, values);
+    }
+
+    public String encode() {
+        List<String> parts = new ArrayList<>(values.length + 1);
+        parts.add(sort.name());
+        for (Object value : values) {
+            parts.add(value == null ? null : value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(parts));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    /**
+     * Decodes a cursor produced by encode() for the given sort mode
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort mode
+     */
+    public static TaskCursor decode(String encoded, TaskSort sort) {
+        List<String> parts;
+        try {
+            parts = MAPPER.readValue(Base64.getUrlDecoder().decode(encoded), STRING_LIST);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        List<TaskSort.SortKey> keys = sort.getKeys();
+        if (parts.size() != keys.size() + 1 || !sort.name().equals(parts.get(0))) {
+            throw new IllegalArgumentException("Page cursor does not match sort '" + sort.getParam() + "'");
+        }
+        Object[] values = new Object[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            String raw = parts.get(i + 1);
+            values[i] = raw == null ? null : parse(keys.get(i).type(), raw);
+        }
+        return new TaskCursor(sort, values);
+    }
+
+    private static Object parse(Class<?> type, String raw) {
+        try {
+            if (type == Long.class) return Long.valueOf(raw);
+            if (type == LocalDate.class) return LocalDate.parse(raw);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(raw);
+            if (type == Task.Priority.class) return Task.Priority.valueOf(raw);
+            return raw;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -30,6 +30,9 @@ public class TaskDTO {
 
     private boolean completed = false;
 
+    // Version of the task the form was loaded from; a newer version in the database rejects the edit
+    private Long version;
+
     // Constructors
     public TaskDTO() {}
 
@@ -41,6 +44,7 @@ public class TaskDTO {
         this.project = task.getProject();
         this.priority = task.getPriority();
         this.completed = task.isCompleted();
+        this.version = task.getVersion();
     }
 
     // Convert to Task entity
@@ -77,4 +81,7 @@ public class TaskDTO {
 
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
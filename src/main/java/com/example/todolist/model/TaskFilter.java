@@ -0,0 +1,92 @@
+package com.example.todolist.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria of a task list query, all optional and combined with AND.
+ * Only the criteria that are set become predicates, each always in the same form, so every
+ * combination maps to one stable SQL statement the database can plan once and serve from an index.
+ * Immutable; each with-method returns a copy with one criterion changed, so filters compose.
+ *
+ * ids restricts the result to the given tasks; the service sets it from the search index in place of
+ * the keyword, which otherwise becomes a LIKE on title and description.
+ */
+public record TaskFilter(Boolean completed,
+                         boolean overdue,
+                         String project,
+                         LocalDate dueFrom,
+                         LocalDate dueTo,
+                         Task.Priority priority,
+                         String keyword,
+                         List<Long> ids) {
+
+    public static final TaskFilter NONE = new TaskFilter(null, false, null, null, null, null, null, null);
+
+    public TaskFilter {
+        project = blankToNull(project);
+        keyword = blankToNull(keyword);
+        ids = ids == null ? null : List.copyOf(ids);
+    }
+
+    /**
+     * Builds a filter from the request parameters shared by the dashboard and /api/tasks.
+     * filter is one of completed, pending or overdue; unknown values are ignored.
+     *
+     * @throws IllegalArgumentException if priority is not a priority name
+     */
+    public static TaskFilter fromParams(String filter, String project, String search, String priority,
+                                        LocalDate dueFrom, LocalDate dueTo) {
+        TaskFilter result = NONE.withProject(project).withKeyword(search).withDueWindow(dueFrom, dueTo);
+        if ("completed".equals(filter)) {
+            result = result.withCompleted(true);
+        } else if ("pending".equals(filter)) {
+            result = result.withCompleted(false);
+        } else if ("overdue".equals(filter)) {
+            result = result.withOverdue(true);
+        }
+        if (priority != null && !priority.isBlank()) {
+            result = result.withPriority(Task.Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT)));
+        }
+        return result;
+    }
+
+    public TaskFilter withCompleted(Boolean completed) {
+        return new TaskFilter(completed, overdue, project, dueFrom, dueTo, priority, keyword, ids);
+    }
+
+    // Pending tasks due before today
+    public TaskFilter withOverdue(boolean overdue) {
+        return new TaskFilter(completed, overdue, project, dueFrom, dueTo, priority, keyword, ids);
+    }
+
+    public TaskFilter withProject(String project) {
+        return new TaskFilter(completed, overdue, project, dueFrom, dueTo, priority, keyword, ids);
+    }
+
+    // Due on or after from and on or before to; either bound may be null
+    public TaskFilter withDueWindow(LocalDate from, LocalDate to) {
+        return new TaskFilter(completed, overdue, project, from, to, priority, keyword, ids);
+    }
+
+    public TaskFilter withPriority(Task.Priority priority) {
+        return new TaskFilter(completed, overdue, project, dueFrom, dueTo, priority, keyword, ids);
+    }
+
+    public TaskFilter withKeyword(String keyword) {
+        return new TaskFilter(completed, overdue, project, dueFrom, dueTo, priority, keyword, ids);
+    }
+
+    public TaskFilter withIds(List<Long> ids) {
+        return new TaskFilter(completed, overdue, project, dueFrom, dueTo, priority, keyword, ids);
+    }
+
+    public boolean isEmpty() {
+        return equals(NONE);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.todolist.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated task list.
+ * nextCursor is null on the last page.
+ */
+public class TaskPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public TaskPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Clamps a requested page size to 1..MAX_SIZE, using DEFAULT_SIZE when none was given
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null) return DEFAULT_SIZE;
+        return Math.max(1, Math.min(MAX_SIZE, size));
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
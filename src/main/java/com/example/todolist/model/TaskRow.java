@@ -0,0 +1,78 @@
+package com.example.todolist.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the task list views (dashboard and /api/tasks).
+ * Built directly by constructor-expression queries, so list reads neither create managed entities
+ * nor get dirty-checked. The description is cut to a preview in SQL and flagged once when the row
+ * is read; overdue depends on the date and is evaluated against the one the caller passes.
+ */
+public final class TaskRow {
+
+    // Characters of description shown in a list; one more is fetched to tell whether it was cut
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 160;
+    public static final int DESCRIPTION_FETCH_LENGTH = DESCRIPTION_PREVIEW_LENGTH + 1;
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final boolean descriptionTruncated;
+    private final LocalDate dueDate;
+    private final String project;
+    private final Task.Priority priority;
+    private final boolean completed;
+    private final LocalDateTime createdAt;
+    private final Long version;
+
+    /**
+     * Query constructor; description holds at most DESCRIPTION_FETCH_LENGTH characters
+     */
+    public TaskRow(Long id, String title, String description, LocalDate dueDate, String project,
+                   Task.Priority priority, boolean completed, LocalDateTime createdAt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.descriptionTruncated = description != null && description.length() > DESCRIPTION_PREVIEW_LENGTH;
+        this.description = descriptionTruncated ? description.substring(0, DESCRIPTION_PREVIEW_LENGTH) + "…" : description;
+        this.dueDate = dueDate;
+        this.project = project;
+        this.priority = priority;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public boolean isDescriptionTruncated() { return descriptionTruncated; }
+    public LocalDate getDueDate() { return dueDate; }
+    public String getProject() { return project; }
+    public Task.Priority getPriority() { return priority; }
+    public boolean isCompleted() { return completed; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getVersion() { return version; }
+    public boolean isOverdue() { return isOverdueOn(LocalDate.now()); }
+
+    /**
+     * Overdue as of the given date; views pass one date captured per request
+     */
+    public boolean isOverdueOn(LocalDate today) {
+        return !completed && dueDate != null && dueDate.isBefore(today);
+    }
+
+    public String getStatusText() {
+        return completed ? "Completed" : "Pending";
+    }
+
+    public String getStatusClass() {
+        return statusClassOn(LocalDate.now());
+    }
+
+    public String statusClassOn(LocalDate today) {
+        if (completed) return "success";
+        if (isOverdueOn(today)) return "danger";
+        return "primary";
+    }
+}
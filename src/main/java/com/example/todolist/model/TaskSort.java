@@ -0,0 +1,117 @@
+package com.example.todolist.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sort modes of the task list, each a total order ending in the task ID.
+ * Every mode is a key tuple that keyset pagination can resume from.
+ * NULL due dates and projects sort as the lowest value, as both MySQL and H2 do by default.
+ */
+public enum TaskSort {
+
+    DEFAULT("default",
+            SortKey.asc("id", Long.class, false)),
+    DATE_ASC("date-asc",
+            SortKey.asc("dueDate", LocalDate.class, true),
+            SortKey.asc("createdAt", LocalDateTime.class, false),
+            SortKey.asc("id", Long.class, false)),
+    DATE_DESC("date-desc",
+            SortKey.desc("dueDate", LocalDate.class, true),
+            SortKey.desc("createdAt", LocalDateTime.class, false),
+            SortKey.desc("id", Long.class, false)),
+    PROJECT("project",
+            SortKey.asc("project", String.class, true),
+            SortKey.asc("dueDate", LocalDate.class, true),
+            SortKey.asc("id", Long.class, false)),
+    PRIORITY("priority",
+            SortKey.desc("priority", Task.Priority.class, true),
+            SortKey.asc("dueDate", LocalDate.class, true),
+            SortKey.asc("id", Long.class, false)),
+    CREATED("created",
+            SortKey.desc("createdAt", LocalDateTime.class, false),
+            SortKey.desc("id", Long.class, false));
+
+    private final String param;
+    private final List<SortKey> keys;
+
+    TaskSort(String param, SortKey... keys) {
+        this.param = param;
+        this.keys = List.of(keys);
+    }
+
+    public String getParam() { return param; }
+    public List<SortKey> getKeys() { return keys; }
+
+    /**
+     * The order the database returns rows in for this mode, for merging rows of separate queries.
+     * Projects compare without regard to case, as the column's collation compares them.
+     */
+    public Comparator<TaskRow> rowOrder() {
+        Comparator<TaskRow> order = keys.get(0).rowOrder();
+        for (SortKey key : keys.subList(1, keys.size())) {
+            order = order.thenComparing(key.rowOrder());
+        }
+        return order;
+    }
+
+    /**
+     * Maps the "sort" request parameter to a mode; unknown or missing values give DEFAULT
+     */
+    public static TaskSort fromParam(String param) {
+        if (param != null) {
+            for (TaskSort sort : values()) {
+                if (sort.param.equals(param)) {
+                    return sort;
+                }
+            }
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * One component of a sort: entity attribute, its Java type, direction and whether it can be NULL
+     */
+    public record SortKey(String attribute, Class<?> type, boolean descending, boolean nullable) {
+
+        static SortKey asc(String attribute, Class<?> type, boolean nullable) {
+            return new SortKey(attribute, type, false, nullable);
+        }
+
+        static SortKey desc(String attribute, Class<?> type, boolean nullable) {
+            return new SortKey(attribute, type, true, nullable);
+        }
+
+        public Object valueOf(Task task) {
+            return switch (attribute) {
+                case "id" -> task.getId();
+                case "dueDate" -> task.getDueDate();
+                case "createdAt" -> task.getCreatedAt();
+                case "project" -> task.getProject();
+                case "priority" -> task.getPriority();
+                default -> throw new IllegalStateException("Unknown sort attribute: " + attribute);
+            };
+        }
+
+        public Object valueOf(TaskRow row) {
+            return switch (attribute) {
+                case "id" -> row.getId();
+                case "dueDate" -> row.getDueDate();
+                case "createdAt" -> row.getCreatedAt();
+                case "project" -> row.getProject();
+                case "priority" -> row.getPriority();
+                default -> throw new IllegalStateException("Unknown sort attribute: " + attribute);
+            };
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Comparator<TaskRow> rowOrder() {
+            Comparator<Object> values = type == String.class
+                    ? (Comparator) String.CASE_INSENSITIVE_ORDER : (Comparator) Comparator.naturalOrder();
+            Comparator<TaskRow> order = Comparator.comparing(this::valueOf, Comparator.nullsFirst(values));
+            return descending ? order.reversed() : order;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.todolist.model;
+
+/**
+ * Dashboard counters
+ */
+public record TaskStats(long total, long completed, long pending, long overdue) {}
@@ -0,0 +1,31 @@
+package com.example.todolist.push;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+
+/**
+ * Payload of a "task" event on the live event stream.
+ * type is one of created, updated, toggled, deleted or bulk; task is the state after the change
+ * (before it for deletes) and is null, like id, for bulk changes.
+ */
+public record TaskChange(String type, Long id, TaskSnapshot task) {
+
+    public static TaskChange of(TaskChangedEvent event) {
+        return switch (event.type()) {
+            case CREATED -> new TaskChange("created", event.taskId(), event.after());
+            case UPDATED -> new TaskChange(isToggle(event) ? "toggled" : "updated", event.taskId(), event.after());
+            case DELETED -> new TaskChange("deleted", event.taskId(), event.before());
+            case BULK_CREATED, BULK_UPDATED, BULK_DELETED -> new TaskChange("bulk", null, null);
+        };
+    }
+
+    // An update that changed the completion state and nothing the user edits
+    private static boolean isToggle(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        return before.completed() != after.completed()
+                && new TaskSnapshot(before.id(), before.title(), before.description(), before.dueDate(),
+                        before.project(), before.priority(), after.completed(), before.createdAt(), after.updatedAt())
+                .equals(after);
+    }
+}
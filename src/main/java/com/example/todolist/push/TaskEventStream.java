@@ -0,0 +1,272 @@
+package com.example.todolist.push;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.model.TaskStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pushes task changes and dashboard statistics to every connected client as Server-Sent Events.
+ * Committed TaskChangedEvents go into one queue; a single fan-out thread encodes each event once and
+ * offers the frame to every subscriber's bounded buffer. A subscriber whose buffer is full is evicted
+ * (its stream is completed and the browser reconnects), so one slow client never delays the others or
+ * grows memory. Frames are written by a small sender pool; idle connections hold no thread.
+ * A write that takes longer than the send timeout means the client's socket is full: that subscriber is
+ * evicted too, and since its write keeps a sender thread until the connector gives up on the socket, the
+ * pool gets a thread in its place meanwhile, so stuck clients never hold up delivery to the others.
+ *
+ * Events: "stats" (TaskStats, sent on connect and after every batch of changes) and "task" (TaskChange).
+ */
+public class TaskEventStream implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventStream.class);
+
+    // Changes waiting for the fan-out thread; beyond this they are dropped and only the stats are pushed
+    private static final int PENDING_CHANGES = 10_000;
+
+    // Sender threads added in place of ones stuck writing to stalled clients, at most
+    private static final int MAX_REPLACED_SENDERS = 64;
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    private final Supplier<TaskStats> stats;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final long sendTimeoutNanos;
+
+    private final Set<TaskEventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final BlockingQueue<TaskChangedEvent> pending = new ArrayBlockingQueue<>(PENDING_CHANGES);
+    private final AtomicLong droppedChanges = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong stalls = new AtomicLong();
+    private final ExecutorService sender;
+    private int replacedSenders;
+    private final Thread fanOut;
+    private TaskStats lastStats;
+
+    /**
+     * @param bufferSize     frames buffered per subscriber before it is evicted as too slow
+     * @param maxSubscribers connections accepted at once; further ones are refused
+     * @param senderThreads  threads writing frames to the connections
+     * @param timeout        lifetime of one connection, after which the browser reconnects
+     * @param sendTimeout    time one frame may take to write before the client counts as stalled
+     */
+    public TaskEventStream(Supplier<TaskStats> stats, ObjectMapper objectMapper, int bufferSize,
+                           int maxSubscribers, int senderThreads, Duration timeout, Duration sendTimeout) {
+        this(stats, objectMapper, bufferSize, maxSubscribers, newSenderPool(senderThreads), timeout, sendTimeout);
+    }
+
+    TaskEventStream(Supplier<TaskStats> stats, ObjectMapper objectMapper, int bufferSize,
+                    int maxSubscribers, ExecutorService sender, Duration timeout, Duration sendTimeout) {
+        this.stats = stats;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.sender = sender;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.fanOut = new Thread(this::fanOut, "task-events-fan-out");
+        this.fanOut.setDaemon(true);
+        this.fanOut.start();
+    }
+
+    private static ExecutorService newSenderPool(int threads) {
+        AtomicInteger number = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-sender-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream for one client, starting with the current statistics; returns null when the
+     * subscriber limit is reached
+     */
+    public SseEmitter subscribe() {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = newEmitter();
+        TaskEventSubscriber subscriber = new TaskEventSubscriber(emitter, bufferSize, sender, this::releaseSender);
+        Runnable remove = () -> remove(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        subscribers.add(subscriber);
+        subscriber.offer(encode("stats", stats.get()));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    // Runs after TaskStatistics has applied the change, so the pushed statistics include it
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!pending.offer(event)) {
+            droppedChanges.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, which keeps proxies from closing idle streams and
+     * detects connections the client has dropped
+     */
+    @Scheduled(fixedRateString = "${todolist.events.heartbeat-interval:PT30S}",
+               initialDelayString = "${todolist.events.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        broadcast(HEARTBEAT);
+    }
+
+    /**
+     * Evicts subscribers whose current write has taken longer than the send timeout, and adds a sender
+     * thread in place of each one's until its write returns
+     */
+    @Scheduled(fixedRateString = "${todolist.events.send-timeout:PT5S}",
+               initialDelayString = "${todolist.events.send-timeout:PT5S}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (TaskEventSubscriber subscriber : subscribers) {
+            if (subscriber.markStalled(now, sendTimeoutNanos)) {
+                stalls.incrementAndGet();
+                logger.debug("Evicting a live event subscriber whose write has been blocked for over {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                remove(subscriber);
+                subscriber.close();
+                replaceSender();
+            }
+        }
+    }
+
+    public void shutdown() {
+        fanOut.interrupt();
+        for (TaskEventSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        sender.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todolist.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open live event streams")
+                .register(registry);
+        FunctionCounter.builder("todolist.events.evictions", evictions, AtomicLong::get)
+                .description("Subscribers evicted for falling behind")
+                .register(registry);
+        FunctionCounter.builder("todolist.events.stalls", stalls, AtomicLong::get)
+                .description("Subscribers evicted because a write to them blocked past the send timeout")
+                .register(registry);
+        FunctionCounter.builder("todolist.events.dropped", droppedChanges, AtomicLong::get)
+                .description("Task changes not pushed because the fan-out queue was full")
+                .register(registry);
+    }
+
+    private void fanOut() {
+        List<TaskChangedEvent> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch);
+                for (TaskChangedEvent event : batch) {
+                    broadcast(encode("task", TaskChange.of(event)));
+                }
+                // One statistics frame per batch, and none if nothing counted changed
+                TaskStats current = stats.get();
+                if (!current.equals(lastStats)) {
+                    lastStats = current;
+                    broadcast(encode("stats", current));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Failed to push task changes", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void broadcast(Set<DataWithMediaType> frame) {
+        for (TaskEventSubscriber subscriber : subscribers) {
+            if (subscriber.isClosed()) {
+                remove(subscriber);
+            } else if (!subscriber.offer(frame)) {
+                evictions.incrementAndGet();
+                logger.debug("Evicting a live event subscriber that fell {} frames behind", bufferSize);
+                remove(subscriber);
+                subscriber.close();
+            }
+        }
+    }
+
+    private synchronized void replaceSender() {
+        if (sender instanceof ThreadPoolExecutor pool && replacedSenders < MAX_REPLACED_SENDERS) {
+            replacedSenders++;
+            pool.setMaximumPoolSize(pool.getMaximumPoolSize() + 1);
+            pool.setCorePoolSize(pool.getCorePoolSize() + 1);
+        }
+    }
+
+    // The stalled write returned, so its thread is free again and the extra one goes
+    private synchronized void releaseSender() {
+        if (sender instanceof ThreadPoolExecutor pool && replacedSenders > 0) {
+            replacedSenders--;
+            pool.setCorePoolSize(pool.getCorePoolSize() - 1);
+            pool.setMaximumPoolSize(pool.getMaximumPoolSize() - 1);
+        }
+    }
+
+    private void remove(TaskEventSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    // Encoded once and shared by all subscribers
+    private Set<DataWithMediaType> encode(String name, Object payload) {
+        try {
+            return SseEmitter.event().name(name).data(objectMapper.writeValueAsString(payload)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode " + name + " event", e);
+        }
+    }
+}
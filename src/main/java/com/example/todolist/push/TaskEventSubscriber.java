@@ -0,0 +1,146 @@
+package com.example.todolist.push;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One connected event stream client: a bounded buffer of encoded frames and the emitter they are written to.
+ * Frames are written by a sender thread, at most one per subscriber at a time, and only while there is
+ * something to write; an idle connection holds no thread.
+ * <p>
+ * A write blocks while the client's socket is full, and the emitter stays locked until it returns, so the
+ * subscriber is never completed from another thread while a write is in progress: close() leaves that to
+ * the sender once the write returns, and nobody else waits for the stuck client.
+ */
+class TaskEventSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> buffer;
+    private final Executor sender;
+    private final Runnable stallEnded;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // Guarded by this: the write in progress and when it started (System.nanoTime()),
+    // whether close() left completing the emitter to it, and whether it was declared stalled
+    private boolean sending;
+    private long sendStarted;
+    private boolean completeAfterSend;
+    private boolean stalled;
+
+    /**
+     * @param stallEnded run by the sender thread when a write that was declared stalled finally returns
+     */
+    TaskEventSubscriber(SseEmitter emitter, int bufferSize, Executor sender, Runnable stallEnded) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.stallEnded = stallEnded;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Queues a frame for sending; returns false if the buffer is full, i.e. the client is not keeping up
+     */
+    boolean offer(Set<DataWithMediaType> frame) {
+        if (closed || !buffer.offer(frame)) {
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    /**
+     * Declares the write in progress stalled if it started more than timeoutNanos before now; returns
+     * true the first time, when the caller becomes responsible for the sender thread it holds
+     */
+    synchronized boolean markStalled(long now, long timeoutNanos) {
+        if (stalled || !sending || now - sendStarted <= timeoutNanos) {
+            return false;
+        }
+        stalled = true;
+        return true;
+    }
+
+    void close() {
+        boolean completeNow;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            completeNow = !sending;
+            completeAfterSend = !completeNow;
+        }
+        buffer.clear();
+        if (completeNow) {
+            emitter.complete();
+        }
+    }
+
+    private void drain() {
+        try {
+            Set<DataWithMediaType> frame;
+            while ((frame = buffer.poll()) != null && startSend()) {
+                try {
+                    emitter.send(frame);
+                } finally {
+                    endSend();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            closed = true;
+            buffer.clear();
+        } finally {
+            draining.set(false);
+        }
+        // A frame offered after the last poll but before the flag was cleared
+        if (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private synchronized boolean startSend() {
+        if (closed) {
+            return false;
+        }
+        sending = true;
+        sendStarted = System.nanoTime();
+        return true;
+    }
+
+    private void endSend() {
+        boolean complete;
+        boolean wasStalled;
+        synchronized (this) {
+            sending = false;
+            complete = completeAfterSend;
+            wasStalled = stalled;
+            completeAfterSend = false;
+            stalled = false;
+        }
+        if (complete) {
+            emitter.complete();
+        }
+        if (wasStalled) {
+            stallEnded.run();
+        }
+    }
+}
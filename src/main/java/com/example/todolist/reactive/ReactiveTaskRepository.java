@@ -0,0 +1,54 @@
+package com.example.todolist.reactive;
+
+import com.example.todolist.model.TaskRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of the TaskRepository list queries, in SQL over R2DBC.
+ * Every query selects the list row columns with the description cut as in TaskRepository.ROW_SELECT,
+ * and orders like the TaskSort mode it stands for, ending in the ID.
+ */
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRecord, Long> {
+
+    String ROW_SELECT = "SELECT id, title, SUBSTRING(description, 1, " + TaskRow.DESCRIPTION_FETCH_LENGTH + ") AS description, "
+            + "due_date, project, priority_rank, completed, created_at, version FROM tasks ";
+
+    @Query(ROW_SELECT + "WHERE id = :id")
+    Mono<TaskRecord> findRowById(Long id);
+
+    @Query(ROW_SELECT + "WHERE completed = :completed ORDER BY id")
+    Flux<TaskRecord> findRowsByCompleted(boolean completed);
+
+    @Query(ROW_SELECT + "WHERE UPPER(project) = UPPER(:project) ORDER BY id")
+    Flux<TaskRecord> findRowsByProject(String project);
+
+    @Query(ROW_SELECT + "WHERE due_date < :today AND completed = false ORDER BY id")
+    Flux<TaskRecord> findOverdueRows(LocalDate today);
+
+    @Query(ROW_SELECT + "WHERE LOWER(title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(description) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY id")
+    Flux<TaskRecord> searchRows(String keyword);
+
+    @Query(ROW_SELECT + "ORDER BY id")
+    Flux<TaskRecord> findRowsOrderById();
+
+    @Query(ROW_SELECT + "ORDER BY due_date ASC, created_at ASC, id ASC")
+    Flux<TaskRecord> findRowsOrderByDueDateAsc();
+
+    @Query(ROW_SELECT + "ORDER BY due_date DESC, created_at DESC, id DESC")
+    Flux<TaskRecord> findRowsOrderByDueDateDesc();
+
+    @Query(ROW_SELECT + "ORDER BY project ASC, due_date ASC, id ASC")
+    Flux<TaskRecord> findRowsOrderByProject();
+
+    @Query(ROW_SELECT + "ORDER BY priority_rank DESC, due_date ASC, id ASC")
+    Flux<TaskRecord> findRowsOrderByPriority();
+
+    @Query(ROW_SELECT + "ORDER BY created_at DESC, id DESC")
+    Flux<TaskRecord> findRowsOrderByCreatedAt();
+}
@@ -0,0 +1,84 @@
+package com.example.todolist.reactive;
+
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.model.TaskStats;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Task reads of /api/v2/tasks. Nothing here blocks: rows are emitted as the driver reads them and
+ * only as fast as the subscriber requests them, so a slow client holds neither a thread nor, once
+ * the driver has paused, more than a fetch of rows. Writes stay on TaskService.
+ */
+@Service
+public class ReactiveTaskService {
+
+    private static final String STATS_SELECT = "SELECT COUNT(*) AS total, "
+            + "COUNT(CASE WHEN completed = true THEN 1 END) AS completed, "
+            + "COUNT(CASE WHEN completed = false AND due_date < :today THEN 1 END) AS overdue FROM tasks";
+
+    private final ReactiveTaskRepository repository;
+    private final DatabaseClient databaseClient;
+    private final Clock clock;
+
+    public ReactiveTaskService(ReactiveTaskRepository repository, DatabaseClient databaseClient, Clock clock) {
+        this.repository = repository;
+        this.databaseClient = databaseClient;
+        this.clock = clock;
+    }
+
+    public Mono<TaskRow> findTask(long id) {
+        return repository.findRowById(id).map(TaskRecord::toRow);
+    }
+
+    /**
+     * One list query of the v1 set, by the first given criterion: keyword search, project,
+     * status filter ("completed", "pending", "overdue"), otherwise all tasks in the given sort
+     */
+    public Flux<TaskRow> findTasks(String search, String project, String filter, TaskSort sort) {
+        Flux<TaskRecord> records;
+        if (search != null && !search.isBlank()) {
+            records = repository.searchRows(search.trim());
+        } else if (project != null && !project.isBlank()) {
+            records = repository.findRowsByProject(project.trim());
+        } else if ("completed".equals(filter) || "pending".equals(filter)) {
+            records = repository.findRowsByCompleted("completed".equals(filter));
+        } else if ("overdue".equals(filter)) {
+            records = repository.findOverdueRows(LocalDate.now(clock));
+        } else {
+            records = findAllSorted(sort);
+        }
+        return records.map(TaskRecord::toRow);
+    }
+
+    /**
+     * Dashboard counters in one aggregate query
+     */
+    public Mono<TaskStats> getStats() {
+        return databaseClient.sql(STATS_SELECT)
+                .bind("today", LocalDate.now(clock))
+                .map(row -> {
+                    long total = row.get("total", Long.class);
+                    long completed = row.get("completed", Long.class);
+                    return new TaskStats(total, completed, total - completed, row.get("overdue", Long.class));
+                })
+                .one();
+    }
+
+    private Flux<TaskRecord> findAllSorted(TaskSort sort) {
+        return switch (sort) {
+            case DEFAULT -> repository.findRowsOrderById();
+            case DATE_ASC -> repository.findRowsOrderByDueDateAsc();
+            case DATE_DESC -> repository.findRowsOrderByDueDateDesc();
+            case PROJECT -> repository.findRowsOrderByProject();
+            case PRIORITY -> repository.findRowsOrderByPriority();
+            case CREATED -> repository.findRowsOrderByCreatedAt();
+        };
+    }
+}
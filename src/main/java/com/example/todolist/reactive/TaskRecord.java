@@ -0,0 +1,23 @@
+package com.example.todolist.reactive;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskRow;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the tasks table as read over R2DBC. Only the columns of a list row are mapped; the schema
+ * stays owned by the Task entity, and priority is read as its stored rank.
+ */
+@Table("tasks")
+public record TaskRecord(@Id Long id, String title, String description, LocalDate dueDate, String project,
+                         Byte priorityRank, boolean completed, LocalDateTime createdAt, Long version) {
+
+    public TaskRow toRow() {
+        return new TaskRow(id, title, description, dueDate, project,
+                priorityRank == null ? null : Task.Priority.fromRank(priorityRank), completed, createdAt, version);
+    }
+}
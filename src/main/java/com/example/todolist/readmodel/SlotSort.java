@@ -0,0 +1,124 @@
+package com.example.todolist.readmodel;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Primitive sorts for TaskColumns: no boxing and no Comparator objects.
+ * Composite orders sort positions by two long keys with a stable merge sort;
+ * from PARALLEL_THRESHOLD elements up both kinds of sort run on the common fork-join pool.
+ */
+final class SlotSort {
+
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private SlotSort() {
+    }
+
+    static void sort(long[] values) {
+        if (values.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(values);
+        } else {
+            Arrays.sort(values);
+        }
+    }
+
+    /**
+     * Positions 0..n-1 ordered by (primary, secondary) ascending; equal keys keep their position order
+     */
+    static int[] order(long[] primary, long[] secondary) {
+        int n = primary.length;
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = i;
+        }
+        int[] buffer = new int[n];
+        if (n >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new MergeSortTask(positions, buffer, 0, n, primary, secondary));
+        } else {
+            mergeSort(positions, buffer, 0, n, primary, secondary);
+        }
+        return positions;
+    }
+
+    private static void mergeSort(int[] positions, int[] buffer, int from, int to, long[] primary, long[] secondary) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(positions, from, to, primary, secondary);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(positions, buffer, from, mid, primary, secondary);
+        mergeSort(positions, buffer, mid, to, primary, secondary);
+        merge(positions, buffer, from, mid, to, primary, secondary);
+    }
+
+    private static void insertionSort(int[] positions, int from, int to, long[] primary, long[] secondary) {
+        for (int i = from + 1; i < to; i++) {
+            int current = positions[i];
+            int j = i - 1;
+            while (j >= from && less(current, positions[j], primary, secondary)) {
+                positions[j + 1] = positions[j];
+                j--;
+            }
+            positions[j + 1] = current;
+        }
+    }
+
+    private static void merge(int[] positions, int[] buffer, int from, int mid, int to,
+                              long[] primary, long[] secondary) {
+        if (!less(positions[mid], positions[mid - 1], primary, secondary)) {
+            // Halves already in order, common for columns that mostly follow insertion order
+            return;
+        }
+        System.arraycopy(positions, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        int out = from;
+        while (left < mid && right < to) {
+            positions[out++] = less(buffer[right], buffer[left], primary, secondary) ? buffer[right++] : buffer[left++];
+        }
+        while (left < mid) {
+            positions[out++] = buffer[left++];
+        }
+        while (right < to) {
+            positions[out++] = buffer[right++];
+        }
+    }
+
+    private static boolean less(int a, int b, long[] primary, long[] secondary) {
+        return primary[a] < primary[b] || (primary[a] == primary[b] && secondary[a] < secondary[b]);
+    }
+
+    private static final class MergeSortTask extends RecursiveAction {
+
+        private final int[] positions;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final long[] primary;
+        private final long[] secondary;
+
+        MergeSortTask(int[] positions, int[] buffer, int from, int to, long[] primary, long[] secondary) {
+            this.positions = positions;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.primary = primary;
+            this.secondary = secondary;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                mergeSort(positions, buffer, from, to, primary, secondary);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(positions, buffer, from, mid, primary, secondary),
+                      new MergeSortTask(positions, buffer, mid, to, primary, secondary));
+            merge(positions, buffer, from, mid, to, primary, secondary);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.todolist.readmodel;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskSort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+
+/**
+ * The columns behind TaskReadModel, one slot per task: IDs, due dates as epoch days, priority ranks,
+ * a completion bitset, dictionary codes of project names and creation times in epoch microseconds.
+ * Slots carry no order; removing a task moves the last slot into the gap.
+ * Not thread-safe, TaskReadModel guards it.
+ */
+final class TaskColumns {
+
+    static final int NO_DUE_DATE = Integer.MIN_VALUE;
+    static final int NO_PROJECT = -1;
+    static final long NO_CREATED_AT = Long.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private int size;
+    private long[] ids;
+    private int[] dueDays;
+    private byte[] priorities;
+    private final BitSet completed = new BitSet();
+    private int[] projects;
+    private long[] createdAt;
+    private final Map<Long, Integer> slotById;
+
+    // Project dictionary: a code is an index into projectNames. Codes are not reclaimed when the
+    // last task of a project goes; the next rebuild starts a fresh dictionary
+    private final List<String> projectNames = new ArrayList<>();
+    private final Map<String, Integer> projectCodes = new HashMap<>();
+
+    TaskColumns(int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        ids = new long[capacity];
+        dueDays = new int[capacity];
+        priorities = new byte[capacity];
+        projects = new int[capacity];
+        createdAt = new long[capacity];
+        slotById = new HashMap<>(capacity * 2);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Inserts the task or overwrites its columns with the given state
+     */
+    void put(long id, LocalDate dueDate, Task.Priority priority, boolean done, String project, LocalDateTime created) {
+        Integer existing = slotById.get(id);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+        } else {
+            ensureCapacity(size + 1);
+            slot = size++;
+            ids[slot] = id;
+            slotById.put(id, slot);
+        }
+        dueDays[slot] = dueDate == null ? NO_DUE_DATE : (int) dueDate.toEpochDay();
+        priorities[slot] = priority == null ? 0 : priority.getRank();
+        completed.set(slot, done);
+        projects[slot] = project == null ? NO_PROJECT : projectCodes.computeIfAbsent(project, this::addProject);
+        createdAt[slot] = created == null ? NO_CREATED_AT : micros(created);
+    }
+
+    void remove(long id) {
+        Integer removed = slotById.remove(id);
+        if (removed == null) {
+            return;
+        }
+        int slot = removed;
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            dueDays[slot] = dueDays[last];
+            priorities[slot] = priorities[last];
+            completed.set(slot, completed.get(last));
+            projects[slot] = projects[last];
+            createdAt[slot] = createdAt[last];
+            slotById.put(ids[slot], slot);
+        }
+        completed.clear(last);
+    }
+
+    long[] idsByStatus(boolean done) {
+        return sortedIdsWhere(slot -> completed.get(slot) == done);
+    }
+
+    /**
+     * Case-insensitive, like the UPPER(project) = UPPER(:project) query it replaces
+     */
+    long[] idsByProject(String project) {
+        BitSet codes = projectCodes(project);
+        if (codes.isEmpty()) {
+            return new long[0];
+        }
+        return sortedIdsWhere(slot -> projects[slot] != NO_PROJECT && codes.get(projects[slot]));
+    }
+
+    /**
+     * IDs of the first limit tasks after the cursor in the order of the sort, among the tasks with the
+     * given completion, project (case-insensitive) and priority; a null criterion matches any task.
+     * One pass over the slots keeps the best limit of them in a bounded heap, so only the page is ordered.
+     */
+    long[] pageIds(Boolean done, String project, Task.Priority priority, TaskSort sort, TaskCursor after, int limit) {
+        BitSet codes = project == null ? null : projectCodes(project);
+        if (limit <= 0 || (codes != null && codes.isEmpty())) {
+            return new long[0];
+        }
+        List<TaskSort.SortKey> sortKeys = sort.getKeys();
+        int[] ranks = sort == TaskSort.PROJECT ? projectRanks() : null;
+        IntToLongFunction[] keys = new IntToLongFunction[sortKeys.size()];
+        long[] cursor = after == null ? null : new long[sortKeys.size()];
+        for (int i = 0; i < keys.length; i++) {
+            TaskSort.SortKey key = sortKeys.get(i);
+            IntToLongFunction ascending = slotKey(key.attribute(), ranks);
+            // Bitwise NOT reverses the order and, unlike negation, cannot overflow on the MIN_VALUE sentinels
+            keys[i] = key.descending() ? slot -> ~ascending.applyAsLong(slot) : ascending;
+            if (cursor != null) {
+                long value = cursorKey(key.attribute(), after.values()[i], ranks);
+                cursor[i] = key.descending() ? ~value : value;
+            }
+        }
+
+        SlotHeap page = new SlotHeap(limit, keys);
+        byte rank = priority == null ? 0 : priority.getRank();
+        for (int slot = 0; slot < size; slot++) {
+            if ((done == null || completed.get(slot) == done)
+                    && (codes == null || (projects[slot] != NO_PROJECT && codes.get(projects[slot])))
+                    && (priority == null || priorities[slot] == rank)
+                    && (cursor == null || compareToCursor(slot, keys, cursor) > 0)) {
+                page.offer(slot);
+            }
+        }
+        int[] slots = page.drainInOrder();
+        long[] result = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            result[i] = ids[slots[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Due date, then creation time. Missing due dates sort lowest, as NULLs do in the database
+     */
+    long[] idsByDueDate(boolean ascending) {
+        long[] ordered = idsOrderedBy(slot -> dueDays[slot], slot -> createdAt[slot]);
+        return ascending ? ordered : reverse(ordered);
+    }
+
+    /**
+     * Project name, then due date. Names compare case-insensitively, as the column's collation does
+     */
+    long[] idsByProject() {
+        int[] ranks = projectRanks();
+        return idsOrderedBy(slot -> projects[slot] == NO_PROJECT ? -1 : ranks[projects[slot]], slot -> dueDays[slot]);
+    }
+
+    /**
+     * Priority from high to low with missing priorities last, then due date
+     */
+    long[] idsByPriority() {
+        return idsOrderedBy(slot -> -priorities[slot], slot -> dueDays[slot]);
+    }
+
+    /**
+     * Newest first
+     */
+    long[] idsByCreated() {
+        return reverse(idsOrderedBy(slot -> createdAt[slot], slot -> ids[slot]));
+    }
+
+    // Sort keys as longs: NULLs lowest, and a project by twice its rank, leaving odd values for names not in the dictionary
+    private IntToLongFunction slotKey(String attribute, int[] ranks) {
+        return switch (attribute) {
+            case "id" -> slot -> ids[slot];
+            case "dueDate" -> slot -> dueDays[slot];
+            case "createdAt" -> slot -> createdAt[slot];
+            case "project" -> slot -> projects[slot] == NO_PROJECT ? Long.MIN_VALUE : 2L * ranks[projects[slot]];
+            case "priority" -> slot -> priorities[slot];
+            default -> throw new IllegalStateException("Unknown sort attribute: " + attribute);
+        };
+    }
+
+    private long cursorKey(String attribute, Object value, int[] ranks) {
+        return switch (attribute) {
+            case "id" -> (Long) value;
+            case "dueDate" -> value == null ? NO_DUE_DATE : ((LocalDate) value).toEpochDay();
+            case "createdAt" -> value == null ? NO_CREATED_AT : micros((LocalDateTime) value);
+            case "project" -> value == null ? Long.MIN_VALUE : projectKey((String) value, ranks);
+            case "priority" -> value == null ? 0 : ((Task.Priority) value).getRank();
+            default -> throw new IllegalStateException("Unknown sort attribute: " + attribute);
+        };
+    }
+
+    /**
+     * The key of a project name as a cursor value: the key of the names it equals, or the odd value
+     * between the names below and above it when no task has it any more
+     */
+    private long projectKey(String project, int[] ranks) {
+        int below = 0;
+        for (int code = 0; code < projectNames.size(); code++) {
+            int order = String.CASE_INSENSITIVE_ORDER.compare(projectNames.get(code), project);
+            if (order == 0) {
+                return 2L * ranks[code];
+            }
+            if (order < 0) {
+                below++;
+            }
+        }
+        return 2L * below - 1;
+    }
+
+    private static int compareToCursor(int slot, IntToLongFunction[] keys, long[] cursor) {
+        for (int i = 0; i < keys.length; i++) {
+            int order = Long.compare(keys[i].applyAsLong(slot), cursor[i]);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+
+    private BitSet projectCodes(String project) {
+        BitSet codes = new BitSet(projectNames.size());
+        for (int code = 0; code < projectNames.size(); code++) {
+            if (projectNames.get(code).equalsIgnoreCase(project)) {
+                codes.set(code);
+            }
+        }
+        return codes;
+    }
+
+    private long[] sortedIdsWhere(IntPredicate matches) {
+        long[] selected = new long[size];
+        int count = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (matches.test(slot)) {
+                selected[count++] = ids[slot];
+            }
+        }
+        long[] result = Arrays.copyOf(selected, count);
+        SlotSort.sort(result);
+        return result;
+    }
+
+    private long[] idsOrderedBy(IntToLongFunction primaryKey, IntToLongFunction secondaryKey) {
+        long[] primary = new long[size];
+        long[] secondary = new long[size];
+        for (int slot = 0; slot < size; slot++) {
+            primary[slot] = primaryKey.applyAsLong(slot);
+            secondary[slot] = secondaryKey.applyAsLong(slot);
+        }
+        int[] order = SlotSort.order(primary, secondary);
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = ids[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Rank of each project code in name order; names differing only in case share a rank
+     */
+    private int[] projectRanks() {
+        Integer[] codes = new Integer[projectNames.size()];
+        for (int code = 0; code < codes.length; code++) {
+            codes[code] = code;
+        }
+        Arrays.sort(codes, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(projectNames.get(a), projectNames.get(b)));
+        int[] ranks = new int[codes.length];
+        int rank = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (i > 0 && String.CASE_INSENSITIVE_ORDER.compare(projectNames.get(codes[i - 1]), projectNames.get(codes[i])) != 0) {
+                rank = i;
+            }
+            ranks[codes[i]] = rank;
+        }
+        return ranks;
+    }
+
+    private int addProject(String project) {
+        projectNames.add(project);
+        return projectNames.size() - 1;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        dueDays = Arrays.copyOf(dueDays, grown);
+        priorities = Arrays.copyOf(priorities, grown);
+        projects = Arrays.copyOf(projects, grown);
+        createdAt = Arrays.copyOf(createdAt, grown);
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static long[] reverse(long[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            long swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+
+    /**
+     * Max-heap of at most capacity slots by sort key; offering a slot that sorts before the largest replaces it
+     */
+    private static final class SlotHeap {
+
+        private final int[] slots;
+        private final IntToLongFunction[] keys;
+        private int size;
+
+        SlotHeap(int capacity, IntToLongFunction[] keys) {
+            this.slots = new int[capacity];
+            this.keys = keys;
+        }
+
+        void offer(int slot) {
+            if (size < slots.length) {
+                slots[size] = slot;
+                siftUp(size++);
+            } else if (compare(slot, slots[0]) < 0) {
+                slots[0] = slot;
+                siftDown(0, size);
+            }
+        }
+
+        // Empties the heap into an array in ascending key order
+        int[] drainInOrder() {
+            for (int end = size - 1; end > 0; end--) {
+                int largest = slots[0];
+                slots[0] = slots[end];
+                slots[end] = largest;
+                siftDown(0, end);
+            }
+            int[] ordered = Arrays.copyOf(slots, size);
+            size = 0;
+            return ordered;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compare(slots[index], slots[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index, int end) {
+            while (true) {
+                int largest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < end; child++) {
+                    if (compare(slots[child], slots[largest]) > 0) {
+                        largest = child;
+                    }
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private int compare(int a, int b) {
+            for (IntToLongFunction key : keys) {
+                int order = Long.compare(key.applyAsLong(a), key.applyAsLong(b));
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return 0;
+        }
+
+        private void swap(int i, int j) {
+            int swap = slots[i];
+            slots[i] = slots[j];
+            slots[j] = swap;
+        }
+    }
+}
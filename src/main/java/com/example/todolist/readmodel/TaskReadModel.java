@@ -0,0 +1,210 @@
+package com.example.todolist.readmodel;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Optional in-memory mirror of the columns the list views filter and sort on (see TaskColumns).
+ * TaskService resolves status, project and sorted-list queries here to an ordered ID list
+ * and loads only those rows; task list pages filtered by status, project and priority come from
+ * here too, a page of IDs at a time. Built from the database on startup, kept current from committed
+ * TaskChangedEvents and rebuilt after bulk changes and periodically, which also picks up writes
+ * made by other instances. Until the first build completes the queries go to the database.
+ * Enabled with todolist.read-model.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "todolist.read-model.enabled", havingValue = "true")
+public class TaskReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReadModel.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate scanTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serialises rebuilds; a lock rather than synchronized so a virtual thread in the scan does not pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private TaskColumns columns = new TaskColumns(0);
+    // Changes committed while a rebuild scans, replayed onto the new columns before they are swapped in
+    private List<TaskChangedEvent> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public TaskReadModel(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        // Rebuilds also run from after-commit listeners, where the finished transaction is still bound
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.scanTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.scanTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return read(TaskColumns::size);
+    }
+
+    // ID lists in the order of the repository queries they replace
+
+    public List<Long> findIdsByStatus(boolean completed) {
+        return ids(columns -> columns.idsByStatus(completed));
+    }
+
+    public List<Long> findIdsByProject(String project) {
+        return ids(columns -> columns.idsByProject(project));
+    }
+
+    public List<Long> findIdsSortedByDate(boolean ascending) {
+        return ids(columns -> columns.idsByDueDate(ascending));
+    }
+
+    public List<Long> findIdsSortedByProject() {
+        return ids(TaskColumns::idsByProject);
+    }
+
+    public List<Long> findIdsSortedByPriority() {
+        return ids(TaskColumns::idsByPriority);
+    }
+
+    public List<Long> findIdsSortedByCreated() {
+        return ids(TaskColumns::idsByCreated);
+    }
+
+    /**
+     * IDs of up to limit tasks following the cursor (null for the first page) in the order of the sort,
+     * matching the given completion, project and priority; null criteria match any task
+     */
+    public List<Long> findPageIds(Boolean completed, String project, Task.Priority priority,
+                                  TaskSort sort, TaskCursor after, int limit) {
+        return ids(columns -> columns.pageIds(completed, project, priority, sort, after, limit));
+    }
+
+    // Ahead of the cache invalidation, so a view cached again right after the eviction already sees the change
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type().isBulk()) {
+            rebuild();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+            apply(columns, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads fresh columns from the tasks table while the current ones keep answering, then swaps them in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${todolist.read-model.rebuild-interval:PT10M}",
+               initialDelayString = "${todolist.read-model.rebuild-interval:PT10M}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            scan();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void scan() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TaskColumns fresh;
+        try {
+            fresh = scanTransaction.execute(status -> {
+                TaskColumns loaded = new TaskColumns((int) taskRepository.count());
+                try (var rows = taskRepository.streamReadModelColumns()) {
+                    rows.forEach(row -> loaded.put((Long) row[0], (LocalDate) row[1], (Task.Priority) row[2],
+                            (Boolean) row[3], (String) row[4], (LocalDateTime) row[5]));
+                }
+                return loaded;
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(event -> apply(fresh, event));
+            changedDuringRebuild = null;
+            columns = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        logger.info("Task read model built: {} tasks in {} ms", fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Sets the task to its state after the change; applying the same event twice is harmless
+     */
+    private static void apply(TaskColumns columns, TaskChangedEvent event) {
+        TaskSnapshot after = event.after();
+        if (after == null) {
+            if (event.before() != null) {
+                columns.remove(event.before().id());
+            }
+            return;
+        }
+        columns.put(after.id(), after.dueDate(), after.priority(), after.completed(), after.project(), after.createdAt());
+    }
+
+    private List<Long> ids(Function<TaskColumns, long[]> query) {
+        return Arrays.stream(read(query)).boxed().toList();
+    }
+
+    private <T> T read(Function<TaskColumns, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
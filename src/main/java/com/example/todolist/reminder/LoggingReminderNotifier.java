@@ -0,0 +1,17 @@
+package com.example.todolist.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes reminders to the todolist.reminders log category
+ */
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger("todolist.reminders");
+
+    @Override
+    public void remind(TaskReminder reminder) {
+        logger.info("Task {} \"{}\" is due {}", reminder.taskId(), reminder.title(), reminder.dueDate());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.todolist.reminder;
+
+/**
+ * Open-addressing long-to-long hash map with linear probing, for the wheel's ID-to-deadline table.
+ * Two parallel arrays and no per-entry objects: 16 bytes per slot, kept at most half full.
+ * Removal shifts the following entries back, so there are no tombstones.
+ */
+final class LongLongMap {
+
+    static final long MISSING = Long.MIN_VALUE;
+
+    private static final long FREE = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    // Key 0 marks a free slot, so it is held outside the table
+    private boolean hasZeroKey;
+    private long zeroValue;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    LongLongMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(long key) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : MISSING;
+        }
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == FREE) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Returns the previous value, or MISSING
+     */
+    long put(long key, long value) {
+        if (key == FREE) {
+            long previous = hasZeroKey ? zeroValue : MISSING;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int i = index(key);
+        for (; keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                long previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return MISSING;
+    }
+
+    /**
+     * Returns the removed value, or MISSING
+     */
+    long remove(long key) {
+        if (key == FREE) {
+            if (!hasZeroKey) {
+                return MISSING;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int i = index(key);
+        while (keys[i] != key) {
+            if (keys[i] == FREE) {
+                return MISSING;
+            }
+            i = (i + 1) & mask;
+        }
+        long removed = values[i];
+        size--;
+        // Shift back every following entry of the probe run that may not sit behind the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int home = index(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = FREE;
+        return removed;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity / 2;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int j = index(oldKeys[i]);
+                while (keys[j] != FREE) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.todolist.reminder;
+
+/**
+ * Delivers due-date reminders. Called from the reminder scheduler's thread, so implementations
+ * that talk to slow services should hand the work off rather than block.
+ * Declaring a bean of this type replaces the default LoggingReminderNotifier.
+ */
+public interface ReminderNotifier {
+
+    void remind(TaskReminder reminder);
+}
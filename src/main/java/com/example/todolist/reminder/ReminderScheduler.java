@@ -0,0 +1,309 @@
+package com.example.todolist.reminder;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import com.example.todolist.model.Task;
+import com.example.todolist.repository.TaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires a reminder lead-time ahead of the start of each pending task's due date.
+ * Reminders live in a ReminderWheel and are fed by committed TaskChangedEvents: creating a task,
+ * moving its due date or reopening it schedules one; completing or deleting it cancels it.
+ * Only reminders within horizon-days are held; the rest are loaded by due date range as the
+ * horizon moves, so memory stays bounded by max-scheduled whatever the size of the table.
+ * The last tick whose reminders were delivered is written to state-file; after a restart the
+ * wheel resumes from there, loads the pending tasks due from that point on through the
+ * (completed, due_date) index and fires the reminders it missed while down.
+ * Configured in ReminderConfig.
+ */
+public class ReminderScheduler implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    // Tasks read per query when delivering fired reminders
+    private static final int DELIVERY_BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnly;
+    private final Clock clock;
+    private final ReminderNotifier notifier;
+    private final long tickMillis;
+    private final Duration leadTime;
+    private final int horizonDays;
+    private final int maxScheduled;
+    private final Path stateFile;
+
+    // Guards the wheel and loadedThrough; a lock rather than synchronized, as refills query while holding it
+    private final ReentrantLock lock = new ReentrantLock();
+    private ReminderWheel wheel;
+    // Pending tasks due up to this date are in the wheel; null until started
+    private LocalDate loadedThrough;
+
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ReminderScheduler(TaskRepository taskRepository, PlatformTransactionManager transactionManager, Clock clock,
+                             ReminderNotifier notifier, Duration tick, Duration leadTime, int horizonDays,
+                             int maxScheduled, Path stateFile) {
+        this.taskRepository = taskRepository;
+        // Bulk changes reload from an after-commit listener, where the finished transaction is still bound
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly.setReadOnly(true);
+        this.clock = clock;
+        this.notifier = notifier;
+        this.tickMillis = tick.toMillis();
+        this.leadTime = leadTime;
+        this.horizonDays = horizonDays;
+        this.maxScheduled = maxScheduled;
+        this.stateFile = stateFile;
+        this.wheel = new ReminderWheel(tickOf(clock.instant()));
+    }
+
+    public int getScheduledCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resumes from the persisted position, or from now on the first start
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lock.lock();
+        try {
+            Instant position = readPosition();
+            wheel = new ReminderWheel(tickOf(position != null ? position : clock.instant()));
+            loadedThrough = null;
+            refill();
+            logger.info("Reminder scheduler started at {}: {} reminders through {}",
+                    instantOf(wheel.currentTick()), wheel.size(), loadedThrough);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fires the reminders that have come due and moves the loading horizon forward
+     */
+    @Scheduled(fixedDelayString = "${todolist.reminders.tick:PT1M}", initialDelayString = "${todolist.reminders.tick:PT1M}")
+    public void tick() {
+        List<Long> due = new ArrayList<>();
+        long reached;
+        lock.lock();
+        try {
+            if (loadedThrough == null) {
+                return;
+            }
+            wheel.advanceTo(tickOf(clock.instant()), due::add);
+            reached = wheel.currentTick();
+            refill();
+        } finally {
+            lock.unlock();
+        }
+        deliver(due);
+        // Written after delivery: a crash in between repeats these reminders rather than losing them
+        writePosition(instantOf(reached));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.lock();
+        try {
+            if (loadedThrough == null) {
+                // Not started; the initial load will see this change
+                return;
+            }
+            if (event.type().isBulk()) {
+                wheel = new ReminderWheel(wheel.currentTick());
+                loadedThrough = null;
+                refill();
+                return;
+            }
+            TaskSnapshot after = event.after();
+            if (after == null || after.completed() || after.dueDate() == null) {
+                wheel.cancel(event.taskId());
+                return;
+            }
+            TaskSnapshot before = event.before();
+            if (before != null && !before.completed() && after.dueDate().equals(before.dueDate())) {
+                // Other edits keep the reminder as it is, fired or not
+                return;
+            }
+            if (after.dueDate().isAfter(loadedThrough)) {
+                // Loaded when the horizon gets there
+                wheel.cancel(after.id());
+                return;
+            }
+            schedule(after.id(), after.dueDate(), true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todolist.reminders.scheduled", this, ReminderScheduler::getScheduledCount)
+                .description("Reminders waiting in the timing wheel")
+                .register(registry);
+        FunctionCounter.builder("todolist.reminders.fired", fired, AtomicLong::get)
+                .description("Reminders delivered to the notifier")
+                .register(registry);
+        FunctionCounter.builder("todolist.reminders.rejected", rejected, AtomicLong::get)
+                .description("Reminders not scheduled because the wheel was full")
+                .register(registry);
+    }
+
+    /**
+     * Loads the pending tasks due between what the wheel holds and the horizon, in due date order.
+     * At max-scheduled it stops before the day it could not finish; that day is tried again next tick.
+     */
+    private void refill() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate through = LocalDate.ofInstant(clock.instant().plus(leadTime), clock.getZone()).plusDays(horizonDays);
+        LocalDate from;
+        if (loadedThrough == null) {
+            // Everything still to fire after the wheel's position, but nothing already due
+            LocalDate afterPosition = LocalDate.ofInstant(instantOf(wheel.currentTick()).plus(leadTime), clock.getZone());
+            from = afterPosition.isAfter(today) ? afterPosition : today;
+        } else if (through.isAfter(loadedThrough)) {
+            from = loadedThrough.plusDays(1);
+        } else {
+            return;
+        }
+
+        loadedThrough = readOnly.execute(status -> {
+            try (var rows = taskRepository.streamPendingDueDates(from, through)) {
+                for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                    Object[] row = it.next();
+                    LocalDate dueDate = (LocalDate) row[1];
+                    if (wheel.size() >= maxScheduled) {
+                        logger.warn("Reminder wheel full at {} reminders; tasks due from {} wait for room",
+                                maxScheduled, dueDate);
+                        return dueDate.minusDays(1);
+                    }
+                    schedule((Long) row[0], dueDate, false);
+                }
+            }
+            return through;
+        });
+    }
+
+    /**
+     * Schedules the reminder of a pending task. A reminder time already passed fires on the next tick
+     * when the change is new; on loads it has fired before and is skipped.
+     */
+    private void schedule(long id, LocalDate dueDate, boolean fireIfPassed) {
+        if (dueDate.isBefore(LocalDate.now(clock))) {
+            wheel.cancel(id);
+            return;
+        }
+        long deadline = deadlineOf(dueDate);
+        if (deadline <= wheel.currentTick() && !fireIfPassed) {
+            return;
+        }
+        if (wheel.size() >= maxScheduled) {
+            rejected.incrementAndGet();
+            wheel.cancel(id);
+            return;
+        }
+        wheel.schedule(id, deadline);
+    }
+
+    private void deliver(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        for (int from = 0; from < ids.size(); from += DELIVERY_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + DELIVERY_BATCH_SIZE));
+            List<Task> tasks = readOnly.execute(status -> taskRepository.findAllById(batch));
+            for (Task task : tasks) {
+                // The event that would have cancelled it may still be on its way
+                if (task.isCompleted() || task.getDueDate() == null || task.getDueDate().isBefore(today)) {
+                    continue;
+                }
+                try {
+                    notifier.remind(new TaskReminder(task.getId(), task.getTitle(), task.getProject(),
+                            task.getDueDate(), remindAt(task.getDueDate())));
+                    fired.incrementAndGet();
+                } catch (RuntimeException e) {
+                    logger.warn("Reminder for task {} failed: {}", task.getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Instant remindAt(LocalDate dueDate) {
+        return dueDate.atStartOfDay(clock.getZone()).toInstant().minus(leadTime);
+    }
+
+    // First tick at or after the reminder time, so reminders never fire early
+    private long deadlineOf(LocalDate dueDate) {
+        return Math.floorDiv(remindAt(dueDate).toEpochMilli() + tickMillis - 1, tickMillis);
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private Instant instantOf(long tick) {
+        return Instant.ofEpochMilli(tick * tickMillis);
+    }
+
+    private Instant readPosition() {
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(Files.readString(stateFile, StandardCharsets.US_ASCII).trim()));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable reminder position in {}: {}", stateFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writePosition(Instant position) {
+        try {
+            Path parent = stateFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, stateFile.getFileName().toString(), ".tmp");
+            Files.writeString(temp, Long.toString(position.toEpochMilli()), StandardCharsets.US_ASCII);
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not save reminder position to {}: {}", stateFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.todolist.reminder;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel of task IDs. Time is counted in whole ticks; each of the LEVELS levels
+ * has SLOTS slots, a slot on level n spanning SLOTS^n ticks, so four levels of 64 cover 64^4 ticks
+ * (31 years of one-minute ticks). A reminder is placed on the lowest level whose window still holds
+ * its deadline and moves down a level each time the wheel reaches the start of its slot.
+ * <p>
+ * Slots hold (id, deadline) pairs in plain long arrays. The deadline table is the source of truth:
+ * cancelling only removes the table entry, and a pair whose deadline no longer matches the table is
+ * dropped when its slot is reached, or by a compaction once dropped pairs outnumber live ones.
+ * Both schedule and cancel are O(1) amortized. Not thread-safe.
+ */
+final class ReminderWheel {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+
+    private static final int MASK = SLOTS - 1;
+    // Pairs due at or before the current tick, and pairs beyond the top level's window
+    private static final int EXPIRED = LEVELS * SLOTS;
+    private static final int OVERFLOW = EXPIRED + 1;
+    private static final int INITIAL_SLOT_LENGTH = 16;
+    private static final int COMPACTION_SLACK = 1024;
+
+    private final long[][] slots = new long[OVERFLOW + 1][];
+    private final int[] lengths = new int[OVERFLOW + 1];
+    private final LongLongMap deadlines = new LongLongMap();
+    private long currentTick;
+    // Pairs held in slots, live or not
+    private long pairCount;
+
+    ReminderWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Scheduled reminders
+     */
+    int size() {
+        return deadlines.size();
+    }
+
+    long pairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Schedules the reminder of a task, replacing any earlier one. A deadline that has passed fires on the next advance
+     */
+    void schedule(long id, long deadline) {
+        long previous = deadlines.put(id, deadline);
+        if (previous == deadline) {
+            return;
+        }
+        place(id, deadline);
+        if (previous != LongLongMap.MISSING) {
+            compactIfSparse();
+        }
+    }
+
+    boolean cancel(long id) {
+        boolean cancelled = deadlines.remove(id) != LongLongMap.MISSING;
+        if (cancelled) {
+            compactIfSparse();
+        }
+        return cancelled;
+    }
+
+    /**
+     * Turns the wheel tick by tick up to the given one, passing the ID of every reminder that falls due
+     */
+    void advanceTo(long tick, LongConsumer fired) {
+        fire(EXPIRED, fired);
+        while (currentTick < tick) {
+            long t = ++currentTick;
+            if ((t & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+                cascade(OVERFLOW);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((t & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(slotIndex(level, t));
+                }
+            }
+            fire(EXPIRED, fired);
+            fire(slotIndex(0, t), fired);
+        }
+    }
+
+    private void place(long id, long deadline) {
+        append(slotFor(deadline), id, deadline);
+    }
+
+    private int slotFor(long deadline) {
+        if (deadline <= currentTick) {
+            return EXPIRED;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int windowShift = SLOT_BITS * (level + 1);
+            if ((deadline >>> windowShift) == (currentTick >>> windowShift)) {
+                return slotIndex(level, deadline);
+            }
+        }
+        return OVERFLOW;
+    }
+
+    private static int slotIndex(int level, long tick) {
+        return level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+    }
+
+    private void append(int slot, long id, long deadline) {
+        long[] pairs = slots[slot];
+        int length = lengths[slot];
+        if (pairs == null) {
+            pairs = slots[slot] = new long[INITIAL_SLOT_LENGTH];
+        } else if (length == pairs.length) {
+            pairs = slots[slot] = Arrays.copyOf(pairs, length * 2);
+        }
+        pairs[length] = id;
+        pairs[length + 1] = deadline;
+        lengths[slot] = length + 2;
+        pairCount++;
+    }
+
+    /**
+     * Moves the live pairs of a slot one level down, now that the wheel has reached it
+     */
+    private void cascade(int slot) {
+        long[] pairs = slots[slot];
+        int length = lengths[slot];
+        if (pairs == null) {
+            return;
+        }
+        slots[slot] = null;
+        lengths[slot] = 0;
+        pairCount -= length / 2;
+        for (int i = 0; i < length; i += 2) {
+            if (deadlines.get(pairs[i]) == pairs[i + 1]) {
+                place(pairs[i], pairs[i + 1]);
+            }
+        }
+    }
+
+    private void fire(int slot, LongConsumer fired) {
+        long[] pairs = slots[slot];
+        int length = lengths[slot];
+        if (pairs == null) {
+            return;
+        }
+        slots[slot] = null;
+        lengths[slot] = 0;
+        pairCount -= length / 2;
+        for (int i = 0; i < length; i += 2) {
+            long id = pairs[i];
+            if (deadlines.get(id) == pairs[i + 1]) {
+                deadlines.remove(id);
+                fired.accept(id);
+            }
+        }
+    }
+
+    private void compactIfSparse() {
+        if (pairCount > 2L * deadlines.size() + COMPACTION_SLACK) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops the pairs of cancelled and rescheduled reminders from every slot
+     */
+    private void compact() {
+        for (int slot = 0; slot < slots.length; slot++) {
+            long[] pairs = slots[slot];
+            if (pairs == null) {
+                continue;
+            }
+            int kept = 0;
+            for (int i = 0; i < lengths[slot]; i += 2) {
+                if (deadlines.get(pairs[i]) == pairs[i + 1]) {
+                    pairs[kept] = pairs[i];
+                    pairs[kept + 1] = pairs[i + 1];
+                    kept += 2;
+                }
+            }
+            pairCount -= (lengths[slot] - kept) / 2;
+            lengths[slot] = kept;
+            if (kept == 0) {
+                slots[slot] = null;
+            } else if (kept < pairs.length / 4) {
+                slots[slot] = Arrays.copyOf(pairs, Math.max(INITIAL_SLOT_LENGTH, kept * 2));
+            }
+        }
+    }
+}
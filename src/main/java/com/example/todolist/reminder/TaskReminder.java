@@ -0,0 +1,10 @@
+package com.example.todolist.reminder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A task coming due, handed to the ReminderNotifier when its reminder fires
+ */
+public record TaskReminder(Long taskId, String title, String project, LocalDate dueDate, Instant remindAt) {
+}
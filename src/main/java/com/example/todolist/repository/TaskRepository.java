@@ -1,27 +1,70 @@
 package com.example.todolist.repository;
 
 import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Task entity
  * Provides CRUD operations and custom query methods
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    // Rows fetched per round trip when streaming the whole table
+    int STREAM_FETCH_SIZE = 500;
+
+    // Query cache regions (ehcache.xml): entity ID lists and scalar results
+    String LIST_QUERY_REGION = "task-list-queries";
+    String SCALAR_QUERY_REGION = "task-scalar-queries";
+
+    // List views read TaskRow projections instead of managed entities; the description is cut in SQL
+    String ROW_SELECT = "SELECT new com.example.todolist.model.TaskRow(t.id, t.title, "
+            + "SUBSTRING(t.description, 1, " + TaskRow.DESCRIPTION_FETCH_LENGTH + "), "
+            + "t.dueDate, t.project, t.priority, t.completed, t.createdAt, t.version) FROM Task t ";
+
+    // Reads the row with SELECT ... FOR UPDATE, bypassing the second-level cache; the lock lasts until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
 
     // Find tasks by completion status
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_REGION)
+    })
     List<Task> findByCompleted(boolean completed);
 
     // Find tasks by project
     List<Task> findByProjectIgnoreCase(String project);
 
+    // List rows by completion status / project / overdue, in ID order
+    @Query(ROW_SELECT + "WHERE t.completed = :completed ORDER BY t.id")
+    List<TaskRow> findRowsByCompleted(@Param("completed") boolean completed);
+
+    @Query(ROW_SELECT + "WHERE UPPER(t.project) = UPPER(:project) ORDER BY t.id")
+    List<TaskRow> findRowsByProject(@Param("project") String project);
+
+    @Query(ROW_SELECT + "WHERE t.dueDate < :today AND t.completed = false ORDER BY t.id")
+    List<TaskRow> findOverdueRows(@Param("today") LocalDate today);
+
     // Find tasks by title containing (case-insensitive search)
     List<Task> findByTitleContainingIgnoreCase(String title);
 
@@ -41,33 +84,106 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findTasksDueWithinDays(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     // Find all tasks ordered by due date
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_REGION)
+    })
     @Query("SELECT t FROM Task t ORDER BY t.dueDate ASC, t.createdAt ASC")
     List<Task> findAllOrderByDueDateAsc();
 
     // Find all tasks ordered by due date descending
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_REGION)
+    })
     @Query("SELECT t FROM Task t ORDER BY t.dueDate DESC, t.createdAt DESC")
     List<Task> findAllOrderByDueDateDesc();
 
     // Find all tasks ordered by project
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_REGION)
+    })
     @Query("SELECT t FROM Task t ORDER BY t.project ASC, t.dueDate ASC")
     List<Task> findAllOrderByProjectAsc();
 
     // Find all tasks ordered by priority
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_REGION)
+    })
     @Query("SELECT t FROM Task t ORDER BY t.priority DESC, t.dueDate ASC")
     List<Task> findAllOrderByPriorityDesc();
 
     // Find all tasks ordered by creation date
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_REGION)
+    })
     @Query("SELECT t FROM Task t ORDER BY t.createdAt DESC")
     List<Task> findAllOrderByCreatedAtDesc();
 
+    // Stream all tasks through a forward-only, read-only cursor that bypasses the caches (used by export)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+            // A full scan must not flush the second-level cache with rows nobody asked for
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAllOrderById();
+
+    // The columns mirrored by TaskReadModel, as scalar rows: id, dueDate, priority, completed, project, createdAt
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t.id, t.dueDate, t.priority, t.completed, t.project, t.createdAt FROM Task t ORDER BY t.id")
+    Stream<Object[]> streamReadModelColumns();
+
+    // Due dates TaskDueDateIndex tracks as (id, dueDate, completed): pending tasks, and completed ones due today or later
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t.id, t.dueDate, t.completed FROM Task t "
+            + "WHERE t.dueDate IS NOT NULL AND (t.completed = false OR t.dueDate >= :today)")
+    Stream<Object[]> streamDueDates(@Param("today") LocalDate today);
+
+    // Pending tasks due in a date range as (id, dueDate), a range scan of the (completed, due_date) index (reminders)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t.id, t.dueDate FROM Task t "
+            + "WHERE t.completed = false AND t.dueDate BETWEEN :from AND :to ORDER BY t.dueDate")
+    Stream<Object[]> streamPendingDueDates(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
     // Count tasks by completion status
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SCALAR_QUERY_REGION)
+    })
     long countByCompleted(boolean completed);
 
     // Count overdue tasks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SCALAR_QUERY_REGION)
+    })
     @Query("SELECT COUNT(t) FROM Task t WHERE t.dueDate < :today AND t.completed = false")
     long countOverdueTasks(@Param("today") LocalDate today);
 
+    // Task counts per (completed, dueDate, project) - everything the dashboard statistics derive from, in one query
+    @Query("SELECT t.completed, t.dueDate, t.project, COUNT(t) FROM Task t GROUP BY t.completed, t.dueDate, t.project")
+    List<Object[]> countGroupedByStatusDueDateAndProject();
+
     // Get distinct project names
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SCALAR_QUERY_REGION)
+    })
     @Query("SELECT DISTINCT t.project FROM Task t WHERE t.project IS NOT NULL AND t.project != '' ORDER BY t.project")
     List<String> findDistinctProjects();
 
@@ -75,12 +191,37 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Task> searchTasksByKeyword(@Param("keyword") String keyword);
 
-    // Find tasks by multiple criteria
-    @Query("SELECT t FROM Task t WHERE " +
-           "(:project IS NULL OR t.project = :project) AND " +
-           "(:completed IS NULL OR t.completed = :completed) AND " +
-           "(:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    List<Task> findTasksByCriteria(@Param("project") String project, 
-                                   @Param("completed") Boolean completed, 
-                                   @Param("keyword") String keyword);
-}
\ No newline at end of file
+    @Query(ROW_SELECT + "WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<TaskRow> searchRowsByKeyword(@Param("keyword") String keyword);
+
+    // Set-based status changes: one UPDATE statement, returns affected rows.
+    // They bump the version like any other change, so edits based on the old state get a conflict.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed, t.updatedAt = :now, t.version = t.version + 1 " +
+           "WHERE t.completed <> :completed")
+    int updateCompletedForAll(@Param("completed") boolean completed, @Param("now") LocalDateTime now);
+
+    // Matches the project in any case through the column collation, like the project filter of the list views
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed, t.updatedAt = :now, t.version = t.version + 1 " +
+           "WHERE t.project = :project AND t.completed <> :completed")
+    int updateCompletedForProject(@Param("project") String project,
+                                  @Param("completed") boolean completed,
+                                  @Param("now") LocalDateTime now);
+
+    // Keyset-paged ID lookups that feed batched deletes
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT t.id FROM Task t WHERE t.completed = true AND t.id > :afterId ORDER BY t.id")
+    List<Long> findCompletedIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT t.id FROM Task t WHERE t.completed = true AND t.updatedAt < :before AND t.id > :afterId ORDER BY t.id")
+    List<Long> findCompletedIdsUpdatedBefore(@Param("before") LocalDateTime before,
+                                             @Param("afterId") long afterId,
+                                             Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,32 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+
+import java.util.List;
+
+/**
+ * Hand-written query methods that cannot be expressed as derived or @Query methods
+ */
+public interface TaskRepositoryCustom {
+
+    // Keyset page: the first `limit` tasks in sort order strictly after the cursor (from the start if null)
+    List<Task> findPage(TaskSort sort, TaskCursor after, int limit);
+
+    // The same page as list rows
+    List<TaskRow> findRowPage(TaskSort sort, TaskCursor after, int limit);
+
+    // Keyset page of the tasks matching the filter, as list rows
+    List<TaskRow> findRowPage(TaskFilter filter, TaskSort sort, TaskCursor after, int limit);
+
+    // Every task matching the filter, in sort order
+    List<Task> findAll(TaskFilter filter, TaskSort sort);
+
+    // Loads the given tasks in the order of the ID list; IDs that no longer exist are skipped
+    List<Task> findAllByIdInOrder(List<Long> ids);
+
+    List<TaskRow> findRowsByIdInOrder(List<Long> ids);
+}
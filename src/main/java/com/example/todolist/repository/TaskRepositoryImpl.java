@@ -0,0 +1,222 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Criteria API implementation of {@link TaskRepositoryCustom}.
+ * Pages are located with a keyset predicate on the sort key tuple instead of OFFSET,
+ * so the cost of a page does not depend on how deep it is.
+ * Filters add one sargable predicate per criterion that is set, with values always bound as
+ * parameters, so each combination of criteria and sort is a single, reusable SQL statement.
+ */
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    // Bounds the IN list of ID lookups
+    private static final int ID_LOOKUP_BATCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> findPage(TaskSort sort, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> task = query.from(Task.class);
+        return findPage(cb, query, task, TaskFilter.NONE, sort, after, limit);
+    }
+
+    @Override
+    public List<TaskRow> findRowPage(TaskSort sort, TaskCursor after, int limit) {
+        return findRowPage(TaskFilter.NONE, sort, after, limit);
+    }
+
+    @Override
+    public List<TaskRow> findRowPage(TaskFilter filter, TaskSort sort, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> query = cb.createQuery(TaskRow.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(TaskRow.class,
+                task.get("id"), task.get("title"),
+                cb.substring(task.get("description"), 1, TaskRow.DESCRIPTION_FETCH_LENGTH),
+                task.get("dueDate"), task.get("project"), task.get("priority"), task.get("completed"),
+                task.get("createdAt"), task.get("version")));
+        return findPage(cb, query, task, filter, sort, after, limit);
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, TaskSort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> task = query.from(Task.class);
+        query.where(filterPredicates(cb, task, filter).toArray(Predicate[]::new));
+        query.orderBy(orderBy(cb, task, sort));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private <T> List<T> findPage(CriteriaBuilder cb, CriteriaQuery<T> query, Root<Task> task,
+                                 TaskFilter filter, TaskSort sort, TaskCursor after, int limit) {
+        List<Predicate> predicates = filterPredicates(cb, task, filter);
+        if (after != null) {
+            predicates.add(keysetPredicate(cb, task, after));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(orderBy(cb, task, sort));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * One predicate per criterion that is set. Columns are compared as stored (no functions on indexed
+     * columns), so status, project, priority and due date filters can use the composite indexes.
+     * Project matches in any case through the column's case-insensitive collation (MySQL's default;
+     * H2 with IGNORECASE=TRUE), like the UPPER(project) queries elsewhere.
+     */
+    private static List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Task> task, TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDate> dueDate = task.get("dueDate");
+        if (filter.completed() != null) {
+            predicates.add(cb.equal(task.get("completed"), filter.completed()));
+        }
+        if (filter.overdue()) {
+            predicates.add(cb.equal(task.get("completed"), false));
+            predicates.add(cb.lessThan(dueDate, LocalDate.now()));
+        }
+        if (filter.project() != null) {
+            predicates.add(cb.equal(task.get("project"), filter.project()));
+        }
+        if (filter.dueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(dueDate, filter.dueFrom()));
+        }
+        if (filter.dueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(dueDate, filter.dueTo()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(task.get("priority"), filter.priority()));
+        }
+        if (filter.ids() != null) {
+            predicates.add(filter.ids().isEmpty() ? cb.disjunction() : task.get("id").in(filter.ids()));
+        }
+        if (filter.keyword() != null) {
+            // Lower-cased in Java, so the pattern is a plain bind parameter
+            String pattern = "%" + filter.keyword().toLowerCase(Locale.ROOT) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(task.get("title")), pattern),
+                    cb.like(cb.lower(task.get("description")), pattern)));
+        }
+        return predicates;
+    }
+
+    @Override
+    public List<Task> findAllByIdInOrder(List<Long> ids) {
+        return findByIdInOrder(ids, "SELECT t FROM Task t WHERE t.id IN :ids", Task.class, Task::getId);
+    }
+
+    @Override
+    public List<TaskRow> findRowsByIdInOrder(List<Long> ids) {
+        return findByIdInOrder(ids, TaskRepository.ROW_SELECT + "WHERE t.id IN :ids", TaskRow.class, TaskRow::getId);
+    }
+
+    private <T> List<T> findByIdInOrder(List<Long> ids, String jpql, Class<T> type, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + ID_LOOKUP_BATCH_SIZE));
+            for (T result : entityManager.createQuery(jpql, type)
+                    .setParameter("ids", batch)
+                    .getResultList()) {
+                byId.put(idOf.apply(result), result);
+            }
+        }
+        List<T> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            T result = byId.get(id);
+            if (result != null) {
+                ordered.add(result);
+            }
+        }
+        return ordered;
+    }
+
+    private static List<Order> orderBy(CriteriaBuilder cb, Root<Task> task, TaskSort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (TaskSort.SortKey key : sort.getKeys()) {
+            Path<?> path = task.get(key.attribute());
+            orders.add(key.descending() ? cb.desc(path) : cb.asc(path));
+        }
+        return orders;
+    }
+
+    /**
+     * (k1, k2, ..., id) strictly after the cursor values, expanded as
+     * k1 beyond v1 OR (k1 = v1 AND (k2 beyond v2 OR (k2 = v2 AND ...))),
+     * and with k1 at or beyond v1 where that excludes no row that sorts after the cursor
+     */
+    private static Predicate keysetPredicate(CriteriaBuilder cb, Root<Task> task, TaskCursor cursor) {
+        List<TaskSort.SortKey> keys = cursor.sort().getKeys();
+        Predicate result = null;
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            TaskSort.SortKey key = keys.get(i);
+            Path<Comparable<Object>> path = task.get(key.attribute());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) cursor.values()[i];
+
+            Predicate beyond = beyond(cb, path, value, key);
+            if (result == null) {
+                result = beyond;
+            } else {
+                Predicate tie = cb.and(value == null ? cb.isNull(path) : cb.equal(path, value), result);
+                result = beyond == null ? tie : cb.or(beyond, tie);
+            }
+        }
+        if (result == null) {
+            return cb.disjunction();
+        }
+        // The OR cannot be an index range; a redundant bound on the leading key can
+        TaskSort.SortKey lead = keys.get(0);
+        @SuppressWarnings("unchecked")
+        Comparable<Object> leadValue = (Comparable<Object>) cursor.values()[0];
+        if (keys.size() > 1 && leadValue != null && (!lead.descending() || !lead.nullable())) {
+            Path<Comparable<Object>> path = task.get(lead.attribute());
+            result = cb.and(lead.descending() ? cb.lessThanOrEqualTo(path, leadValue)
+                    : cb.greaterThanOrEqualTo(path, leadValue), result);
+        }
+        return result;
+    }
+
+    /**
+     * Rows strictly after the value in the key's direction, treating NULL as the lowest value.
+     * Returns null when nothing can come after it.
+     */
+    private static Predicate beyond(CriteriaBuilder cb, Path<Comparable<Object>> path,
+                                    Comparable<Object> value, TaskSort.SortKey key) {
+        if (!key.descending()) {
+            return value == null ? cb.isNotNull(path) : cb.greaterThan(path, value);
+        }
+        if (value == null) {
+            return null;
+        }
+        Predicate below = cb.lessThan(path, value);
+        return key.nullable() ? cb.or(below, cb.isNull(path)) : below;
+    }
+}
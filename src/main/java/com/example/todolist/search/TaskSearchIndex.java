@@ -0,0 +1,287 @@
+package com.example.todolist.search;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ * Text is split into lower-case word tokens; every query term matches the tokens it is a prefix of,
+ * and all terms must match (AND). Hits are ordered by relevance: exact token matches beat prefix
+ * matches and title occurrences weigh more than description occurrences.
+ * Built on startup and kept current by {@link TaskSearchIndexListener} after each commit.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Serializes rebuilds; not synchronized, as the scan blocks in JDBC and would pin a virtual thread
+    private final Lock rebuildLock = new ReentrantLock();
+
+    // token -> (task ID -> weighted occurrence count), guarded by lock
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // task ID -> its tokens, so a task can be removed without re-tokenizing its old text
+    private final Map<Long, Set<String>> tokensByTask = new HashMap<>();
+
+    // IDs changed while a rebuild was scanning the table; the scan must not overwrite them
+    private Set<Long> changedDuringRebuild;
+
+    private volatile boolean ready;
+
+    /**
+     * True once the initial build has completed; until then callers should fall back to the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * True if the index is ready and the query has at least one word to look up.
+     * Queries made only of punctuation are left to the database.
+     */
+    public boolean canSearch(String query) {
+        return ready && !tokenize(query).isEmpty();
+    }
+
+    /**
+     * Returns the IDs of tasks matching every term of the query, best match first.
+     * An empty list is returned for a query without any word characters.
+     */
+    public List<Long> search(String query) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        // Every token starting with term sorts between term and term + the highest character
+        for (Map.Entry<String, Map<Long, Integer>> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            double factor = entry.getKey().equals(term) ? 1.0 : PREFIX_MATCH_FACTOR;
+            entry.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Double::sum));
+        }
+        return scores;
+    }
+
+    /**
+     * Indexes the current text of a task, replacing whatever was indexed for it before
+     */
+    public void index(Long id, String title, String description) {
+        Map<String, Integer> weights = weigh(title, description);
+
+        lock.writeLock().lock();
+        try {
+            markChanged(id);
+            put(id, weights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markChanged(id);
+            removeTokens(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops IDs the database no longer has, e.g. after a bulk delete that bypassed the entity callbacks
+     */
+    public void removeAll(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::removeTokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the tasks table.
+     * Searches fall back to the database until the scan is complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            scan();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void scan() {
+        long started = System.currentTimeMillis();
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            tokensByTask.clear();
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Integer count = readOnly.execute(status -> {
+            int indexed = 0;
+            try (var tasks = taskRepository.streamAllOrderById()) {
+                for (Task task : (Iterable<Task>) tasks::iterator) {
+                    indexFromScan(task.getId(), task.getTitle(), task.getDescription());
+                    entityManager.detach(task);
+                    indexed++;
+                }
+            }
+            return indexed;
+        });
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        logger.info("Search index built: {} tasks, {} tokens in {} ms",
+                count, postings.size(), System.currentTimeMillis() - started);
+    }
+
+    private void indexFromScan(Long id, String title, String description) {
+        Map<String, Integer> weights = weigh(title, description);
+
+        lock.writeLock().lock();
+        try {
+            // A change committed after the scan read this row is newer than what the scan saw
+            if (changedDuringRebuild == null || !changedDuringRebuild.contains(id)) {
+                put(id, weights);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markChanged(Long id) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    private void put(Long id, Map<String, Integer> weights) {
+        removeTokens(id);
+        weights.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(id, weight));
+        tokensByTask.put(id, weights.keySet());
+    }
+
+    private void removeTokens(Long id) {
+        Set<String> tokens = tokensByTask.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, Integer> ids = postings.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private static Map<String, Integer> weigh(String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : tokenize(title)) {
+            weights.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return weights;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
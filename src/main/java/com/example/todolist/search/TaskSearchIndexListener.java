@@ -0,0 +1,53 @@
+package com.example.todolist.search;
+
+import com.example.todolist.model.Task;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that feeds task inserts, updates and deletes into the {@link TaskSearchIndex}.
+ * Changes are applied after the surrounding transaction commits, so rolled-back writes never become searchable.
+ * Hibernate obtains this listener from the Spring context, which is how the index gets injected.
+ */
+@Component
+public class TaskSearchIndexListener {
+
+    // Lazy: entity listeners are resolved while the EntityManagerFactory that the index depends on is built
+    @Autowired
+    @Lazy
+    private TaskSearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Task task) {
+        Long id = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        afterCommit(() -> searchIndex.index(id, title, description));
+    }
+
+    @PostRemove
+    public void onRemove(Task task) {
+        Long id = task.getId();
+        afterCommit(() -> searchIndex.remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
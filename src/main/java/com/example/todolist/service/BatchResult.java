@@ -0,0 +1,108 @@
+package com.example.todolist.service;
+
+import com.example.todolist.model.TaskBatchRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a task batch: one item per operation, in request order, and whether anything was committed
+ */
+public class BatchResult {
+
+    public enum Status {
+        APPLIED,
+        // The operation itself is wrong (missing fields, failed validation)
+        INVALID,
+        NOT_FOUND,
+        // The task's version is not the one the operation expected
+        CONFLICT,
+        // The database rejected the operation
+        FAILED,
+        // Valid, but not applied because another operation of an atomic batch failed
+        NOT_APPLIED
+    }
+
+    /**
+     * Result of one operation; id and version describe the task after the batch (version is null once deleted)
+     */
+    public record Item(int index, TaskBatchRequest.Action action, Status status, Long id, Long version, String error) {}
+
+    private final TaskBatchRequest.Mode mode;
+    private final Item[] items;
+    private long elapsedMillis;
+
+    BatchResult(TaskBatchRequest.Mode mode, int size) {
+        this.mode = mode;
+        this.items = new Item[size];
+    }
+
+    void applied(int index, TaskBatchRequest.Action action, Long id, Long version) {
+        items[index] = new Item(index, action, Status.APPLIED, id, version, null);
+    }
+
+    void failed(int index, TaskBatchRequest.Operation operation, Status status, String error) {
+        items[index] = new Item(index, operation.action(), status, operation.id(), null, error);
+    }
+
+    boolean isDecided(int index) {
+        return items[index] != null;
+    }
+
+    /**
+     * Marks every operation without a failure of its own as not applied (atomic batch rolled back)
+     */
+    void rolledBack(List<TaskBatchRequest.Operation> operations) {
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] == null || items[i].status() == Status.APPLIED) {
+                items[i] = new Item(i, operations.get(i).action(), Status.NOT_APPLIED, operations.get(i).id(), null, null);
+            }
+        }
+    }
+
+    void finished(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public TaskBatchRequest.Mode getMode() { return mode; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public List<Item> getItems() { return Collections.unmodifiableList(Arrays.asList(items)); }
+
+    public int getAppliedCount() {
+        return count(Status.APPLIED);
+    }
+
+    public int getFailedCount() {
+        return items.length - getAppliedCount() - count(Status.NOT_APPLIED);
+    }
+
+    public boolean isCommitted() {
+        return getAppliedCount() > 0;
+    }
+
+    public boolean isComplete() {
+        return getAppliedCount() == items.length;
+    }
+
+    private int count(Status status) {
+        int count = 0;
+        for (Item item : items) {
+            if (item != null && item.status() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "mode=" + mode +
+                ", operations=" + items.length +
+                ", applied=" + getAppliedCount() +
+                ", failed=" + getFailedCount() +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
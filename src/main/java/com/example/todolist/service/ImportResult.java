@@ -0,0 +1,81 @@
+package com.example.todolist.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a chunked task import: row counts, timing and the chunks that failed
+ */
+public class ImportResult {
+
+    // Only the first errors are kept so a bad file cannot blow up the result
+    static final int MAX_RECORDED_ERRORS = 100;
+
+    private long importedCount;
+    private long failedCount;
+    private int chunkCount;
+    private long elapsedMillis;
+    private String fatalError;
+    private final List<ChunkError> chunkErrors = new ArrayList<>();
+
+    void chunkCommitted(int rows) {
+        importedCount += rows;
+        chunkCount++;
+    }
+
+    void chunkFailed(int chunk, long firstRow, int rows, String message) {
+        failedCount += rows;
+        chunkCount++;
+        if (chunkErrors.size() < MAX_RECORDED_ERRORS) {
+            chunkErrors.add(new ChunkError(chunk, firstRow, rows, message));
+        }
+    }
+
+    void aborted(String message) {
+        this.fatalError = message;
+    }
+
+    void finished(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getImportedCount() { return importedCount; }
+    public long getFailedCount() { return failedCount; }
+    public int getChunkCount() { return chunkCount; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public String getFatalError() { return fatalError; }
+    public List<ChunkError> getChunkErrors() { return Collections.unmodifiableList(chunkErrors); }
+
+    public boolean hasErrors() {
+        return fatalError != null || failedCount > 0;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? importedCount : importedCount * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "imported=" + importedCount +
+                ", failed=" + failedCount +
+                ", chunks=" + chunkCount +
+                ", elapsedMillis=" + elapsedMillis +
+                (fatalError != null ? ", fatalError='" + fatalError + '\'' : "") +
+                '}';
+    }
+
+    /**
+     * A chunk that was rolled back; rows are numbered from 1 in file order
+     */
+    public record ChunkError(int chunk, long firstRow, int rows, String message) {}
+
+    /**
+     * Receives progress after every chunk, committed or not
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onChunk(ImportResult progress);
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.todolist.service;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskBatchRequest;
+import com.example.todolist.model.TaskBatchRequest.Operation;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a batch of mixed task operations in one transaction.
+ * The tasks the batch refers to are loaded with one query, the operations are applied to them in order,
+ * and a single flush sends the resulting inserts, updates and deletes as JDBC batches
+ * (hibernate.jdbc.batch_size). One TaskChangedEvent is published per task with its net change,
+ * so several operations on the same task are seen by listeners as one.
+ *
+ * An ATOMIC batch is rolled back as soon as an operation fails. A BEST_EFFORT batch skips operations
+ * that fail their checks; if the database rejects the flush, the remaining operations are applied
+ * one transaction each, so only the offending ones fail.
+ */
+@Component
+public class TaskBatchProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBatchProcessor.class);
+
+    public static final int MAX_OPERATIONS = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskBatchProcessor(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                              Validator validator, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the batch is empty or has more than MAX_OPERATIONS operations
+     */
+    public BatchResult process(TaskBatchRequest request) {
+        List<Operation> operations = request.operations();
+        if (operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("A batch holds 1 to " + MAX_OPERATIONS + " operations, got " + operations.size());
+        }
+        long started = System.currentTimeMillis();
+        boolean atomic = request.mode() == TaskBatchRequest.Mode.ATOMIC;
+        BatchResult result = new BatchResult(request.mode(), operations.size());
+
+        List<Integer> valid = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            String problem = validate(operations.get(i));
+            if (problem != null) {
+                result.failed(i, operations.get(i), BatchResult.Status.INVALID, problem);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        if (!atomic || valid.size() == operations.size()) {
+            try {
+                applyInTransaction(operations, valid, atomic, result);
+            } catch (RuntimeException e) {
+                if (atomic) {
+                    logger.debug("Atomic batch rolled back: {}", e.getMessage());
+                    int index = firstUndecided(result, valid);
+                    result.failed(index, operations.get(index), BatchResult.Status.FAILED, e.getMessage());
+                } else {
+                    logger.debug("Batched flush failed, applying {} operations one by one: {}", valid.size(), e.getMessage());
+                    applyOneByOne(operations, valid, result);
+                }
+            }
+        }
+        if (atomic && !result.isComplete()) {
+            result.rolledBack(operations);
+        }
+
+        result.finished(System.currentTimeMillis() - started);
+        logger.info("Batch finished: {}", result);
+        return result;
+    }
+
+    private void applyOneByOne(List<Operation> operations, List<Integer> indexes, BatchResult result) {
+        for (int index : indexes) {
+            if (result.isDecided(index)) {
+                continue;
+            }
+            try {
+                applyInTransaction(operations, List.of(index), false, result);
+            } catch (RuntimeException e) {
+                result.failed(index, operations.get(index), BatchResult.Status.FAILED, e.getMessage());
+            }
+        }
+    }
+
+    // Where an atomic batch whose flush failed reports the error; the database does not say which row it was
+    private static int firstUndecided(BatchResult result, List<Integer> indexes) {
+        return indexes.stream().filter(index -> !result.isDecided(index)).findFirst().orElse(indexes.get(0));
+    }
+
+    /**
+     * Applies the given operations in one transaction. Outcomes are recorded only once the transaction
+     * has committed; if it throws, nothing was applied and nothing recorded.
+     */
+    private void applyInTransaction(List<Operation> operations, List<Integer> indexes, boolean atomic,
+                                    BatchResult result) {
+        List<Runnable> outcomes = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Task> tasks = load(operations, indexes);
+            Map<Long, NetChange> changes = new LinkedHashMap<>();
+            List<Applied> applied = new ArrayList<>();
+
+            for (int index : indexes) {
+                Operation operation = operations.get(index);
+                BatchResult.Status problem = apply(operation, tasks, changes, applied, index);
+                if (problem != null) {
+                    String message = problem == BatchResult.Status.NOT_FOUND
+                            ? "Task not found with ID: " + operation.id()
+                            : "Task " + operation.id() + " has changed since version " + operation.expectedVersion();
+                    outcomes.add(() -> result.failed(index, operation, problem, message));
+                    if (atomic) {
+                        status.setRollbackOnly();
+                        return;
+                    }
+                }
+            }
+
+            // One flush: the statements go out as JDBC batches; versioned updates that lost a race fail here
+            entityManager.flush();
+            for (NetChange change : changes.values()) {
+                change.publish(eventPublisher);
+            }
+            for (Applied item : applied) {
+                outcomes.add(() -> result.applied(item.index(), item.action(), item.task().getId(),
+                        item.deleted() ? null : item.task().getVersion()));
+            }
+        });
+        outcomes.forEach(Runnable::run);
+    }
+
+    // Every task the operations name, in one query
+    private Map<Long, Task> load(List<Operation> operations, List<Integer> indexes) {
+        Set<Long> ids = indexes.stream()
+                .map(index -> operations.get(index).id())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Task task : taskRepository.findAllById(ids)) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Applies one operation to the managed tasks; returns why it could not be applied, or null
+     */
+    private BatchResult.Status apply(Operation operation, Map<Long, Task> tasks, Map<Long, NetChange> changes,
+                                     List<Applied> applied, int index) {
+        if (operation.action() == TaskBatchRequest.Action.CREATE) {
+            Task task = operation.task().toTask();
+            task.setId(null);
+            entityManager.persist(task);
+            changes.put(task.getId(), new NetChange(null, task));
+            applied.add(new Applied(index, operation.action(), task, false));
+            return null;
+        }
+
+        Task task = tasks.get(operation.id());
+        if (task == null) {
+            return BatchResult.Status.NOT_FOUND;
+        }
+        Long expectedVersion = operation.expectedVersion();
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            return BatchResult.Status.CONFLICT;
+        }
+        NetChange change = changes.computeIfAbsent(task.getId(), id -> new NetChange(TaskSnapshot.of(task), task));
+
+        switch (operation.action()) {
+            case UPDATE -> {
+                TaskDTO fields = operation.task();
+                task.setTitle(fields.getTitle());
+                task.setDescription(fields.getDescription());
+                task.setDueDate(fields.getDueDate());
+                task.setProject(fields.getProject());
+                task.setPriority(fields.getPriority());
+                task.setCompleted(fields.isCompleted());
+            }
+            case TOGGLE -> task.setCompleted(!task.isCompleted());
+            case DELETE -> {
+                entityManager.remove(task);
+                tasks.remove(task.getId());
+                change.deleted = true;
+            }
+            default -> throw new IllegalStateException("Unexpected action " + operation.action());
+        }
+        applied.add(new Applied(index, operation.action(), task, change.deleted));
+        return null;
+    }
+
+    /**
+     * Checks an operation on its own, before any task is loaded; returns the problem or null
+     */
+    private String validate(Operation operation) {
+        if (operation == null || operation.action() == null) {
+            return "Operation has no action";
+        }
+        TaskBatchRequest.Action action = operation.action();
+        if (action != TaskBatchRequest.Action.CREATE && operation.id() == null) {
+            return action + " needs the id of a task";
+        }
+        if (action == TaskBatchRequest.Action.CREATE || action == TaskBatchRequest.Action.UPDATE) {
+            if (operation.task() == null) {
+                return action + " needs the task's fields";
+            }
+            Set<ConstraintViolation<TaskDTO>> violations = validator.validate(operation.task());
+            if (!violations.isEmpty()) {
+                return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+            }
+        }
+        return null;
+    }
+
+    private record Applied(int index, TaskBatchRequest.Action action, Task task, boolean deleted) {}
+
+    /**
+     * The state of one task before the batch and its entity, which holds the state after it once flushed
+     */
+    private static final class NetChange {
+
+        private final TaskSnapshot before;
+        private final Task task;
+        private boolean deleted;
+
+        NetChange(TaskSnapshot before, Task task) {
+            this.before = before;
+            this.task = task;
+        }
+
+        void publish(ApplicationEventPublisher eventPublisher) {
+            if (before == null && !deleted) {
+                eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(task)));
+            } else if (before != null && deleted) {
+                eventPublisher.publishEvent(TaskChangedEvent.deleted(before));
+            } else if (before != null) {
+                TaskSnapshot after = TaskSnapshot.of(task);
+                if (!after.equals(before)) {
+                    eventPublisher.publishEvent(TaskChangedEvent.updated(before, after));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.todolist.service;
+
+import com.example.todolist.event.TaskChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the task data, for conditional GETs on the API and the export.
+ * Bumped for every committed TaskChangedEvent and never read from the database, so answering
+ * a matching If-None-Match costs nothing. The current date is part of the version because
+ * overdue flags and counts change at midnight without a write; the start time of this instance
+ * is too, so ETags handed out before a restart never match afterwards.
+ */
+@Component
+public class TaskDataVersion {
+
+    private final Clock clock;
+    private final String instance;
+    private final AtomicLong counter = new AtomicLong();
+    private volatile long lastModified;
+
+    public TaskDataVersion(Clock clock) {
+        this.clock = clock;
+        this.lastModified = clock.millis();
+        this.instance = Long.toString(lastModified, Character.MAX_RADIX);
+    }
+
+    /**
+     * Strong entity tag for the current data; variant tells apart different encodings of the same data
+     */
+    public String getETag(String variant) {
+        LocalDate today = LocalDate.now(clock);
+        String tag = instance + "." + counter.get() + "." + today.toEpochDay();
+        return "\"" + (variant == null ? tag : tag + "-" + variant) + "\"";
+    }
+
+    /**
+     * Time of the last change in epoch milliseconds, or of the last midnight if that is later
+     */
+    public long getLastModified() {
+        long midnight = LocalDate.now(clock).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return Math.max(lastModified, midnight);
+    }
+
+    // After the caches and statistics have applied the change, so a request that sees
+    // the new version never reads data from before it
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lastModified = clock.millis();
+        counter.incrementAndGet();
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.todolist.service;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import com.example.todolist.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Calendar wheel of task IDs keyed by epoch day of the due date.
+ * Days from today on keep a bucket of pending and one of completed IDs; pending tasks due earlier
+ * sit in a single overdue set. When the date changes the buckets that fell behind are moved into
+ * the overdue set, which costs the size of those buckets and no rescan. Overdue, due-today and
+ * due-within lookups walk only the buckets they return; TaskService also narrows the overdue and
+ * due-window filters of the task list to these IDs. Loaded on startup and after bulk changes,
+ * kept current from committed TaskChangedEvents; until loaded, TaskService queries the database.
+ */
+@Component
+public class TaskDueDateIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDueDateIndex.class);
+
+    private final TaskRepository taskRepository;
+    private final Clock clock;
+    private final TransactionTemplate loadTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Epoch day the wheel is positioned at; read without the lock to decide whether to roll over
+    private volatile long today;
+    private final NavigableMap<Long, DayBucket> days = new TreeMap<>();
+    private final NavigableSet<Long> overdue = new TreeSet<>();
+    private volatile boolean ready;
+
+    public TaskDueDateIndex(TaskRepository taskRepository, Clock clock, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.clock = clock;
+        this.today = LocalDate.now(clock).toEpochDay();
+        // Reloads also run from after-commit listeners, where the finished transaction is still bound
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The current date, read once per request so every overdue check in it agrees
+     */
+    public LocalDate today() {
+        rollOver();
+        return LocalDate.ofEpochDay(today);
+    }
+
+    /**
+     * Pending tasks due before today, in ID order
+     */
+    public List<Long> findOverdueIds() {
+        rollOver();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(overdue);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tasks due on the given day from today on, pending or completed, in ID order
+     */
+    public List<Long> findIdsDueOn(LocalDate date) {
+        rollOver();
+        lock.readLock().lock();
+        try {
+            DayBucket bucket = days.get(date.toEpochDay());
+            return bucket == null ? List.of() : bucket.allIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pending tasks due from one day to another, both inclusive and not before today,
+     * ordered by due date and then ID
+     */
+    public List<Long> findPendingIdsDueBetween(LocalDate from, LocalDate to) {
+        rollOver();
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (DayBucket bucket : days.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+                ids.addAll(bucket.pending);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * True if findIdsDueBetween can answer a window starting at from (null for open):
+     * completed tasks due before today are not kept, so a window reaching back needs pendingOnly
+     */
+    public boolean canFindDueBetween(LocalDate from, boolean pendingOnly) {
+        return ready && (pendingOnly || (from != null && !from.isBefore(today())));
+    }
+
+    /**
+     * Tasks due from one day to another, both inclusive and either open if null; only pending ones
+     * if pendingOnly. In ID order.
+     */
+    public List<Long> findIdsDueBetween(LocalDate from, LocalDate to, boolean pendingOnly) {
+        rollOver();
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long first = from == null ? Long.MIN_VALUE : from.toEpochDay();
+            long last = to == null ? Long.MAX_VALUE : to.toEpochDay();
+            if (pendingOnly && first < today) {
+                // Overdue tasks carry no day here; the caller's query checks the window
+                ids.addAll(overdue);
+            }
+            first = Math.max(first, today);
+            if (first <= last) {
+                for (DayBucket bucket : days.subMap(first, true, last, true).values()) {
+                    ids.addAll(bucket.pending);
+                    if (!pendingOnly) {
+                        ids.addAll(bucket.completed);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ahead of the cache invalidation, so a view cached again right after the eviction already sees the change
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        rollOver();
+        lock.writeLock().lock();
+        try {
+            if (event.type().isBulk()) {
+                load();
+                return;
+            }
+            if (event.before() != null) {
+                remove(event.before());
+            }
+            if (event.after() != null) {
+                add(event.after());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        long started = System.currentTimeMillis();
+        days.clear();
+        overdue.clear();
+        today = LocalDate.now(clock).toEpochDay();
+        Integer count = loadTransaction.execute(status -> {
+            int loaded = 0;
+            try (var rows = taskRepository.streamDueDates(LocalDate.ofEpochDay(today))) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    add((Long) row[0], ((LocalDate) row[1]).toEpochDay(), (Boolean) row[2]);
+                    loaded++;
+                }
+            }
+            return loaded;
+        });
+        ready = true;
+        logger.info("Due date index loaded: {} tasks over {} days, {} overdue in {} ms",
+                count, days.size(), overdue.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Turns the wheel to the current date: pending IDs of the days passed become overdue,
+     * completed ones are no longer needed
+     */
+    private void rollOver() {
+        long now = LocalDate.now(clock).toEpochDay();
+        if (now <= today) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (now <= today) {
+                return;
+            }
+            NavigableMap<Long, DayBucket> passed = days.headMap(now, false);
+            for (DayBucket bucket : passed.values()) {
+                overdue.addAll(bucket.pending);
+            }
+            passed.clear();
+            today = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(TaskSnapshot task) {
+        if (task.dueDate() != null) {
+            add(task.id(), task.dueDate().toEpochDay(), task.completed());
+        }
+    }
+
+    private void add(Long id, long day, boolean completed) {
+        if (day < today) {
+            if (!completed) {
+                overdue.add(id);
+            }
+            return;
+        }
+        DayBucket bucket = days.computeIfAbsent(day, d -> new DayBucket());
+        (completed ? bucket.completed : bucket.pending).add(id);
+    }
+
+    private void remove(TaskSnapshot task) {
+        if (task.dueDate() == null) {
+            return;
+        }
+        long day = task.dueDate().toEpochDay();
+        if (day < today) {
+            overdue.remove(task.id());
+            return;
+        }
+        DayBucket bucket = days.get(day);
+        if (bucket != null) {
+            (task.completed() ? bucket.completed : bucket.pending).remove(task.id());
+            if (bucket.isEmpty()) {
+                days.remove(day);
+            }
+        }
+    }
+
+    private static final class DayBucket {
+
+        final NavigableSet<Long> pending = new TreeSet<>();
+        final NavigableSet<Long> completed = new TreeSet<>();
+
+        boolean isEmpty() {
+            return pending.isEmpty() && completed.isEmpty();
+        }
+
+        /**
+         * Both sets merged in ID order
+         */
+        List<Long> allIds() {
+            List<Long> ids = new ArrayList<>(pending.size() + completed.size());
+            Iterator<Long> left = pending.iterator();
+            Iterator<Long> right = completed.iterator();
+            Long a = left.hasNext() ? left.next() : null;
+            Long b = right.hasNext() ? right.next() : null;
+            while (a != null || b != null) {
+                if (b == null || (a != null && a < b)) {
+                    ids.add(a);
+                    a = left.hasNext() ? left.next() : null;
+                } else {
+                    ids.add(b);
+                    b = right.hasNext() ? right.next() : null;
+                }
+            }
+            return ids;
+        }
+    }
+}
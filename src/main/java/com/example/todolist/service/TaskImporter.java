@@ -0,0 +1,110 @@
+package com.example.todolist.service;
+
+import com.example.todolist.model.Task;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import engine for large JSON task files.
+ * The upload is parsed one object at a time and persisted in fixed-size chunks,
+ * each in its own transaction, so memory stays bounded by the chunk size.
+ * With sequence-generated IDs Hibernate sends every chunk as JDBC batches
+ * of hibernate.jdbc.batch_size inserts.
+ */
+@Component
+public class TaskImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImporter.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader taskReader;
+
+    public TaskImporter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        this.taskReader = objectMapper.readerFor(Task.class);
+    }
+
+    public ImportResult importTasks(InputStream inputStream) {
+        return importTasks(inputStream, DEFAULT_CHUNK_SIZE, progress -> {});
+    }
+
+    /**
+     * Reads a JSON array of tasks and commits it chunk by chunk.
+     * A chunk that fails is rolled back and reported; the remaining chunks still run.
+     * Malformed JSON stops the import, keeping the chunks committed so far.
+     */
+    public ImportResult importTasks(InputStream inputStream, int chunkSize, ImportResult.ProgressListener listener) {
+        ImportResult result = new ImportResult();
+        long started = System.currentTimeMillis();
+        List<Task> chunk = new ArrayList<>(chunkSize);
+        long rowsRead = 0;
+
+        try (JsonParser parser = taskReader.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of tasks");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(taskReader.readValue(parser));
+                rowsRead++;
+                if (chunk.size() == chunkSize) {
+                    persistChunk(chunk, rowsRead - chunk.size() + 1, result);
+                    listener.onChunk(result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                persistChunk(chunk, rowsRead - chunk.size() + 1, result);
+                listener.onChunk(result);
+            }
+        } catch (IOException e) {
+            logger.error("Import stopped after {} rows: {}", rowsRead, e.getMessage());
+            result.aborted("Invalid JSON after row " + rowsRead + ": " + e.getMessage());
+        }
+
+        result.finished(System.currentTimeMillis() - started);
+        logger.info("Import finished: {}", result);
+        return result;
+    }
+
+    private void persistChunk(List<Task> chunk, long firstRow, ImportResult result) {
+        int chunkNumber = result.getChunkCount() + 1;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Task task : chunk) {
+                    // Clear existing IDs to avoid conflicts
+                    task.setId(null);
+                    entityManager.persist(task);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.chunkCommitted(chunk.size());
+        } catch (RuntimeException e) {
+            logger.warn("Chunk {} (rows {}-{}) rolled back: {}",
+                    chunkNumber, firstRow, firstRow + chunk.size() - 1, e.getMessage());
+            result.chunkFailed(chunkNumber, firstRow, chunk.size(), e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.todolist.service;
 
 import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskBatchRequest;
 import com.example.todolist.model.TaskDTO;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.model.TaskStats;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -20,19 +28,20 @@ public interface TaskService {
     Task updateTask(Long id, TaskDTO taskDTO);
     void deleteTask(Long id);
 
-    // Status operations
+    // Status operations (atomic; concurrent changes are retried, a stale expectedVersion is rejected)
     Task toggleTaskCompletion(Long id);
+    Task toggleTaskCompletion(Long id, Long expectedVersion);
     Task markTaskAsCompleted(Long id);
     Task markTaskAsIncomplete(Long id);
 
-    // Search and filter operations
-    List<Task> getTasksByStatus(boolean completed);
-    List<Task> getTasksByProject(String project);
-    List<Task> searchTasks(String keyword);
+    // Search and filter operations (list views get read-only TaskRow projections)
+    List<TaskRow> getTasksByStatus(boolean completed);
+    List<TaskRow> getTasksByProject(String project);
+    List<TaskRow> searchTasks(String keyword);
     List<Task> getTasksByCriteria(String project, Boolean completed, String keyword);
 
     // Date-based queries
-    List<Task> getOverdueTasks();
+    List<TaskRow> getOverdueTasks();
     List<Task> getTasksDueToday();
     List<Task> getTasksDueWithinDays(int days);
 
@@ -42,7 +51,14 @@ public interface TaskService {
     List<Task> getAllTasksSortedByPriority();
     List<Task> getAllTasksSortedByCreated();
 
+    // Keyset pagination (cursor is the nextCursor of the previous page, null for the first page)
+    TaskPage<TaskRow> getTasksPage(TaskSort sort, String cursor, Integer size);
+
+    // Filtered list in any sort order, keyset paged; the criteria of the filter combine freely
+    TaskPage<TaskRow> findTasks(TaskFilter filter, TaskSort sort, String cursor, Integer size);
+
     // Statistics
+    TaskStats getTaskStats();
     long getTotalTasksCount();
     long getCompletedTasksCount();
     long getPendingTasksCount();
@@ -53,11 +69,18 @@ public interface TaskService {
 
     // File operations
     String exportTasksToJson();
+    void exportTasksToJson(OutputStream outputStream);
     List<Task> importTasksFromJson(String jsonData);
+    ImportResult importTasks(InputStream jsonStream);
+
+    // Bulk operations (set-based, return the number of affected tasks)
+    int deleteAllTasks();
+    int deleteCompletedTasks();
+    int deleteCompletedTasksOlderThan(int days);
+    int markAllTasksAsCompleted();
+    int markAllTasksAsIncomplete();
+    int markProjectTasksAsCompleted(String project);
 
-    // Bulk operations
-    void deleteAllTasks();
-    void deleteCompletedTasks();
-    List<Task> markAllTasksAsCompleted();
-    List<Task> markAllTasksAsIncomplete();
+    // Batch API (mixed create/update/toggle/delete in one transaction, per-operation results)
+    BatchResult applyBatch(TaskBatchRequest request);
 }
\ No newline at end of file
@@ -1,34 +1,113 @@
 package com.example.todolist.service;
 
+import com.example.todolist.cache.TaskCaches;
+import com.example.todolist.datasource.ReplicaReads;
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
 import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskBatchRequest;
+import com.example.todolist.model.TaskCursor;
 import com.example.todolist.model.TaskDTO;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.model.TaskStats;
+import com.example.todolist.readmodel.TaskReadModel;
 import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.search.TaskSearchIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.logging.Logger;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of TaskService interface
  * Contains all business logic for TodoList operations
+ * Reads are cached (see TaskCaches); writes publish TaskChangedEvents that invalidate them after commit.
  */
 @Service
 @Transactional
 public class TaskServiceImpl implements TaskService {
 
-    private static final Logger logger = Logger.getLogger(TaskServiceImpl.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
+
+    // Rows removed per transaction by bulk deletes
+    static final int DELETE_BATCH_SIZE = 1000;
+
+    // Longest ID list bound into one query; longer lists of keyword matches are queried in batches
+    static final int ID_LIST_BATCH_SIZE = 1000;
+
+    // Optimistic attempts of a completion change before it falls back to locking the row
+    static final int STATE_CHANGE_ATTEMPTS = 3;
 
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskImporter taskImporter;
+
+    @Autowired
+    private TaskBatchProcessor taskBatchProcessor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskDueDateIndex dueDateIndex;
+
+    // Present with todolist.read-model.enabled=true; the views below use it once it is built
+    @Autowired(required = false)
+    private TaskReadModel readModel;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final ObjectMapper objectMapper;
 
     public TaskServiceImpl() {
@@ -37,210 +116,554 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'all'")
     public List<Task> getAllTasks() {
-        logger.info("Retrieving all tasks");
+        logger.debug("Retrieving all tasks");
         return taskRepository.findAll();
     }
 
     @Override
+    @Cacheable(cacheNames = TaskCaches.TASK_BY_ID, unless = "#result == null")
     public Optional<Task> getTaskById(Long id) {
-        logger.info("Retrieving task with ID: " + id);
+        logger.debug("Retrieving task with ID: {}", id);
         return taskRepository.findById(id);
     }
 
     @Override
     public Task saveTask(TaskDTO taskDTO) {
-        logger.info("Saving new task: " + taskDTO.getTitle());
+        logger.debug("Saving new task: {}", taskDTO.getTitle());
         Task task = taskDTO.toTask();
         Task savedTask = taskRepository.save(task);
-        logger.info("Task saved with ID: " + savedTask.getId());
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(savedTask)));
+        logger.debug("Task saved with ID: {}", savedTask.getId());
         return savedTask;
     }
 
+    /**
+     * Full edit. The UPDATE is conditional on the task's version, and the form's version must still be
+     * current, so an edit based on an outdated copy fails instead of overwriting the newer change.
+     */
     @Override
     public Task updateTask(Long id, TaskDTO taskDTO) {
-        logger.info("Updating task with ID: " + id);
+        logger.debug("Updating task with ID: {}", id);
         return taskRepository.findById(id)
                 .map(existingTask -> {
+                    if (taskDTO.getVersion() != null && !taskDTO.getVersion().equals(existingTask.getVersion())) {
+                        logger.debug("Rejected stale edit of task {} (version {}, current {})",
+                                id, taskDTO.getVersion(), existingTask.getVersion());
+                        throw new ObjectOptimisticLockingFailureException(Task.class, id);
+                    }
+                    TaskSnapshot before = TaskSnapshot.of(existingTask);
                     existingTask.setTitle(taskDTO.getTitle());
                     existingTask.setDescription(taskDTO.getDescription());
                     existingTask.setDueDate(taskDTO.getDueDate());
                     existingTask.setProject(taskDTO.getProject());
                     existingTask.setPriority(taskDTO.getPriority());
                     existingTask.setCompleted(taskDTO.isCompleted());
-                    Task updatedTask = taskRepository.save(existingTask);
-                    logger.info("Task updated successfully: " + id);
+                    Task updatedTask = taskRepository.saveAndFlush(existingTask);
+                    eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(updatedTask)));
+                    logger.debug("Task updated successfully: {}", id);
                     return updatedTask;
                 })
                 .orElseThrow(() -> {
-                    logger.severe("Task not found with ID: " + id);
+                    logger.error("Task not found with ID: {}", id);
                     return new RuntimeException("Task not found with ID: " + id);
                 });
     }
 
     @Override
     public void deleteTask(Long id) {
-        logger.info("Deleting task with ID: " + id);
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Task not found with ID: " + id);
-        }
-        taskRepository.deleteById(id);
-        logger.info("Task deleted successfully: " + id);
+        logger.debug("Deleting task with ID: {}", id);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
+        taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(TaskSnapshot.of(task)));
+        logger.debug("Task deleted successfully: {}", id);
     }
 
+    // Completion changes run one transaction per attempt (see changeCompleted), so none surrounds them
+
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Task toggleTaskCompletion(Long id) {
-        logger.info("Toggling completion status for task ID: " + id);
-        return taskRepository.findById(id)
-                .map(task -> {
-                    task.setCompleted(!task.isCompleted());
-                    Task updatedTask = taskRepository.save(task);
-                    logger.info("Task completion toggled: " + id + " -> " + updatedTask.isCompleted());
-                    return updatedTask;
-                })
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
+        return toggleTaskCompletion(id, null);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Task toggleTaskCompletion(Long id, Long expectedVersion) {
+        logger.debug("Toggling completion status for task ID: {}", id);
+        Task updatedTask = changeCompleted(id, expectedVersion, task -> !task.isCompleted());
+        logger.debug("Task completion toggled: {} -> {}", id, updatedTask.isCompleted());
+        return updatedTask;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Task markTaskAsCompleted(Long id) {
-        logger.info("Marking task as completed: " + id);
-        return taskRepository.findById(id)
-                .map(task -> {
-                    task.setCompleted(true);
-                    return taskRepository.save(task);
-                })
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
+        logger.debug("Marking task as completed: {}", id);
+        return changeCompleted(id, null, task -> true);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Task markTaskAsIncomplete(Long id) {
-        logger.info("Marking task as incomplete: " + id);
-        return taskRepository.findById(id)
-                .map(task -> {
-                    task.setCompleted(false);
-                    return taskRepository.save(task);
-                })
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
+        logger.debug("Marking task as incomplete: {}", id);
+        return changeCompleted(id, null, task -> false);
+    }
+
+    /**
+     * Compare-and-set of the completed flag. Each attempt reads the task (usually from the second-level
+     * cache) and writes the new state with a single UPDATE ... WHERE id = ? AND version = ?, in its own
+     * transaction. If another writer got in between, the attempt is repeated on the fresh state, so two
+     * concurrent toggles flip the task twice rather than the same way once. After STATE_CHANGE_ATTEMPTS
+     * lost races the row is read with a lock, which the final attempt cannot lose.
+     * With an expectedVersion the caller's view must be current, and a mismatch fails at once.
+     *
+     * @throws OptimisticLockingFailureException if expectedVersion is not the current version
+     */
+    private Task changeCompleted(Long id, Long expectedVersion, Predicate<Task> nextState) {
+        for (int attempt = 1; ; attempt++) {
+            boolean lockRow = attempt > STATE_CHANGE_ATTEMPTS;
+            try {
+                return transactionTemplate.execute(status -> {
+                    Task task = (lockRow ? taskRepository.findByIdForUpdate(id) : taskRepository.findById(id))
+                            .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
+                    if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(Task.class, id);
+                    }
+                    boolean completed = nextState.test(task);
+                    return completed == task.isCompleted() ? task : setCompleted(task, completed);
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null || lockRow || !backOff(attempt)) {
+                    logger.debug("Completion change of task {} rejected after {} attempt(s)", id, attempt);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Random wait of up to 2^attempt ms, so writers that just collided do not collide again; false if interrupted
+    private static boolean backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1L << attempt));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Task setCompleted(Task task, boolean completed) {
+        TaskSnapshot before = TaskSnapshot.of(task);
+        task.setCompleted(completed);
+        // Flushed here so a lost race surfaces inside the attempt
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(updatedTask)));
+        return updatedTask;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> getTasksByStatus(boolean completed) {
-        logger.info("Retrieving tasks by completion status: " + completed);
-        return taskRepository.findByCompleted(completed);
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_FILTER, key = "T(com.example.todolist.cache.TaskCaches).statusKey(#completed)")
+    public List<TaskRow> getTasksByStatus(boolean completed) {
+        logger.debug("Retrieving tasks by completion status: {}", completed);
+        if (readModelReady()) {
+            return taskRepository.findRowsByIdInOrder(readModel.findIdsByStatus(completed));
+        }
+        return taskRepository.findRowsByCompleted(completed);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> getTasksByProject(String project) {
-        logger.info("Retrieving tasks by project: " + project);
-        return taskRepository.findByProjectIgnoreCase(project);
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_FILTER, key = "T(com.example.todolist.cache.TaskCaches).projectKey(#project)")
+    public List<TaskRow> getTasksByProject(String project) {
+        logger.debug("Retrieving tasks by project: {}", project);
+        if (readModelReady()) {
+            return taskRepository.findRowsByIdInOrder(readModel.findIdsByProject(project));
+        }
+        return taskRepository.findRowsByProject(project);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> searchTasks(String keyword) {
-        logger.info("Searching tasks with keyword: " + keyword);
-        return taskRepository.searchTasksByKeyword(keyword);
+    public List<TaskRow> searchTasks(String keyword) {
+        logger.debug("Searching tasks with keyword: {}", keyword);
+        if (!searchIndex.canSearch(keyword)) {
+            // A scan of every row whose result is cached nowhere, so a replica may serve it.
+            // The indexed path stays on the primary: rows missing from a lagging replica would be pruned from the index.
+            return ReplicaReads.call(() -> taskRepository.searchRowsByKeyword(keyword));
+        }
+        return findIndexed(keyword, taskRepository::findRowsByIdInOrder, TaskRow::getId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Task> getTasksByCriteria(String project, Boolean completed, String keyword) {
-        logger.info("Retrieving tasks by criteria - Project: " + project + ", Completed: " + completed + ", Keyword: " + keyword);
-        return taskRepository.findTasksByCriteria(project, completed, keyword);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Retrieving tasks by criteria - Project: {}, Completed: {}, Keyword: {}", project, completed, keyword);
+        }
+        TaskFilter filter = TaskFilter.NONE.withProject(project).withCompleted(completed).withKeyword(keyword);
+        if (!searchIndex.canSearch(keyword)) {
+            return taskRepository.findAll(filter, TaskSort.DEFAULT);
+        }
+        // The same project match as the repository predicate: blank means any, and case is ignored
+        return findIndexed(keyword, taskRepository::findAllByIdInOrder, Task::getId).stream()
+                .filter(task -> filter.project() == null || filter.project().equalsIgnoreCase(task.getProject()))
+                .filter(task -> completed == null || completed == task.isCompleted())
+                .toList();
+    }
+
+    /**
+     * Resolves matching IDs from the search index and loads only those rows, in relevance order
+     */
+    private <T> List<T> findIndexed(String keyword, Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        List<Long> ids = searchIndex.search(keyword);
+        List<T> tasks = loader.apply(ids);
+        if (tasks.size() < ids.size()) {
+            // Rows deleted behind this instance's back are still indexed; prune them here
+            Set<Long> found = tasks.stream().map(idOf).collect(Collectors.toSet());
+            searchIndex.removeAll(ids.stream().filter(id -> !found.contains(id)).toList());
+        }
+        return tasks;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> getOverdueTasks() {
-        logger.info("Retrieving overdue tasks");
-        return taskRepository.findOverdueTasks(LocalDate.now());
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'overdue:' + T(java.time.LocalDate).now()")
+    public List<TaskRow> getOverdueTasks() {
+        logger.debug("Retrieving overdue tasks");
+        if (dueDateIndex.isReady()) {
+            return taskRepository.findRowsByIdInOrder(dueDateIndex.findOverdueIds());
+        }
+        return taskRepository.findOverdueRows(LocalDate.now());
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'dueToday:' + T(java.time.LocalDate).now()")
     public List<Task> getTasksDueToday() {
-        logger.info("Retrieving tasks due today");
+        logger.debug("Retrieving tasks due today");
+        if (dueDateIndex.isReady()) {
+            return taskRepository.findAllByIdInOrder(dueDateIndex.findIdsDueOn(dueDateIndex.today()));
+        }
         return taskRepository.findTasksDueToday(LocalDate.now());
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'dueWithin:' + #days + ':' + T(java.time.LocalDate).now()")
     public List<Task> getTasksDueWithinDays(int days) {
-        logger.info("Retrieving tasks due within " + days + " days");
+        logger.debug("Retrieving tasks due within {} days", days);
+        if (dueDateIndex.isReady()) {
+            LocalDate today = dueDateIndex.today();
+            return taskRepository.findAllByIdInOrder(dueDateIndex.findPendingIdsDueBetween(today, today.plusDays(days)));
+        }
         LocalDate today = LocalDate.now();
         return taskRepository.findTasksDueWithinDays(today, today.plusDays(days));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'date:' + #ascending")
     public List<Task> getAllTasksSortedByDate(boolean ascending) {
-        logger.info("Retrieving all tasks sorted by date (ascending: " + ascending + ")");
+        logger.debug("Retrieving all tasks sorted by date (ascending: {})", ascending);
+        if (readModelReady()) {
+            return taskRepository.findAllByIdInOrder(readModel.findIdsSortedByDate(ascending));
+        }
         return ascending ? taskRepository.findAllOrderByDueDateAsc() : taskRepository.findAllOrderByDueDateDesc();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'project'")
     public List<Task> getAllTasksSortedByProject() {
-        logger.info("Retrieving all tasks sorted by project");
+        logger.debug("Retrieving all tasks sorted by project");
+        if (readModelReady()) {
+            return taskRepository.findAllByIdInOrder(readModel.findIdsSortedByProject());
+        }
         return taskRepository.findAllOrderByProjectAsc();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'priority'")
     public List<Task> getAllTasksSortedByPriority() {
-        logger.info("Retrieving all tasks sorted by priority");
+        logger.debug("Retrieving all tasks sorted by priority");
+        if (readModelReady()) {
+            return taskRepository.findAllByIdInOrder(readModel.findIdsSortedByPriority());
+        }
         return taskRepository.findAllOrderByPriorityDesc();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'created'")
     public List<Task> getAllTasksSortedByCreated() {
-        logger.info("Retrieving all tasks sorted by creation date");
+        logger.debug("Retrieving all tasks sorted by creation date");
+        if (readModelReady()) {
+            return taskRepository.findAllByIdInOrder(readModel.findIdsSortedByCreated());
+        }
         return taskRepository.findAllOrderByCreatedAtDesc();
     }
 
+    /**
+     * The read model computes the filter and order of a view; the database then only serves rows by ID
+     */
+    private boolean readModelReady() {
+        return readModel != null && readModel.isReady();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public long getTotalTasksCount() {
-        return taskRepository.count();
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'page:' + #sort + ':' + #cursor + ':' + #size")
+    public TaskPage<TaskRow> getTasksPage(TaskSort sort, String cursor, Integer size) {
+        return findPage(TaskFilter.NONE, sort, cursor, size);
     }
 
+    /**
+     * Keyword filters are resolved through the search index when it can answer them, however many tasks
+     * match; those pages are not cached, as the index is updated separately from the cache invalidation,
+     * and so may be read from a replica. The default sort lists the matches best match first, as the index ranks them.
+     */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TaskCaches.TASKS_BY_SORT, key = "'find:' + #filter + ':' + #sort + ':' + #cursor + ':' + #size",
+               condition = "#filter.keyword() == null")
+    public TaskPage<TaskRow> findTasks(TaskFilter filter, TaskSort sort, String cursor, Integer size) {
+        if (filter.keyword() != null) {
+            // Cached nowhere, so a replica may serve it
+            return ReplicaReads.call(() -> findKeywordPage(filter, sort, cursor, size));
+        }
+        if (readModelReady() && readModelCanFilter(filter)) {
+            return findReadModelPage(filter, sort, cursor, size);
+        }
+        if (dueDateIndexCanFilter(filter)) {
+            return findDueDatePage(filter, sort, cursor, size);
+        }
+        return findPage(filter, sort, cursor, size);
+    }
+
+    private TaskPage<TaskRow> findKeywordPage(TaskFilter filter, TaskSort sort, String cursor, Integer size) {
+        if (searchIndex.canSearch(filter.keyword())) {
+            List<Long> ids = searchIndex.search(filter.keyword());
+            TaskFilter rest = filter.withKeyword(null);
+            int limit = TaskPage.normalizeSize(size);
+            logger.debug("Retrieving task page of {} keyword matches (filter: {}, sort: {}, size: {})",
+                    ids.size(), rest, sort.getParam(), limit);
+            if (sort != TaskSort.DEFAULT) {
+                return findPageAmong(ids, rest, sort, decodeCursor(cursor, sort), limit);
+            }
+            TaskCursor after = decodeCursor(cursor, sort);
+            int from = after == null ? 0 : ids.indexOf((Long) after.values()[0]) + 1;
+            // If the last task shown has left the matches, its place in them is lost and the listing ends there
+            return after != null && from == 0 ? new TaskPage<>(List.of(), null) : findPageInOrder(ids, rest, from, limit);
+        }
+        if (dueDateIndexCanFilter(filter)) {
+            return findDueDatePage(filter, sort, cursor, size);
+        }
+        return findPage(filter, sort, cursor, size);
+    }
+
+    private static boolean readModelCanFilter(TaskFilter filter) {
+        return filter.keyword() == null && filter.ids() == null && !filter.overdue()
+                && filter.dueFrom() == null && filter.dueTo() == null;
+    }
+
+    private boolean dueDateIndexCanFilter(TaskFilter filter) {
+        if (filter.overdue()) {
+            return dueDateIndex.isReady();
+        }
+        return (filter.dueFrom() != null || filter.dueTo() != null)
+                && dueDateIndex.canFindDueBetween(filter.dueFrom(), Boolean.FALSE.equals(filter.completed()));
+    }
+
+    /**
+     * The due date index narrows the page to the tasks it has in the window (ID order); the query
+     * applies every criterion to those, so a task the index has not caught up with is still judged
+     * by its row
+     */
+    private TaskPage<TaskRow> findDueDatePage(TaskFilter filter, TaskSort sort, String cursor, Integer size) {
+        List<Long> ids = filter.overdue() ? dueDateIndex.findOverdueIds()
+                : dueDateIndex.findIdsDueBetween(filter.dueFrom(), filter.dueTo(), Boolean.FALSE.equals(filter.completed()));
+        int limit = TaskPage.normalizeSize(size);
+        logger.debug("Retrieving task page of {} tasks from the due date index (filter: {}, sort: {}, size: {})",
+                ids.size(), filter, sort.getParam(), limit);
+        TaskCursor after = decodeCursor(cursor, sort);
+        if (sort != TaskSort.DEFAULT) {
+            return findPageAmong(ids, filter, sort, after, limit);
+        }
+        int from = 0;
+        if (after != null) {
+            // The first ID above the last one shown, whether or not that task is still in the window
+            int found = Collections.binarySearch(ids, (Long) after.values()[0]);
+            from = found >= 0 ? found + 1 : -found - 1;
+        }
+        return findPageInOrder(ids, filter, from, limit);
+    }
+
+    /**
+     * The read model picks the page's IDs (and one more, to tell whether another page follows);
+     * the database only serves those rows
+     */
+    private TaskPage<TaskRow> findReadModelPage(TaskFilter filter, TaskSort sort, String cursor, Integer size) {
+        int limit = TaskPage.normalizeSize(size);
+        logger.debug("Retrieving task page from the read model (filter: {}, sort: {}, size: {})",
+                filter, sort.getParam(), limit);
+        List<Long> ids = readModel.findPageIds(filter.completed(), filter.project(), filter.priority(),
+                sort, decodeCursor(cursor, sort), limit + 1);
+        List<TaskRow> page = taskRepository.findRowsByIdInOrder(ids.subList(0, Math.min(limit, ids.size())));
+        // A task deleted since the read model saw it is missing from the rows; the page is then one shorter
+        if (ids.size() <= limit || page.isEmpty()) {
+            return new TaskPage<>(page, null);
+        }
+        return new TaskPage<>(page, TaskCursor.after(sort, page.get(page.size() - 1)).encode());
+    }
+
+    private TaskPage<TaskRow> findPage(TaskFilter filter, TaskSort sort, String cursor, Integer size) {
+        int limit = TaskPage.normalizeSize(size);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Retrieving task page (filter: {}, sort: {}, size: {}, first page: {})",
+                    filter, sort.getParam(), limit, cursor == null);
+        }
+        // One extra row tells whether another page follows
+        return toPage(taskRepository.findRowPage(filter, sort, decodeCursor(cursor, sort), limit + 1), sort, limit);
+    }
+
+    /**
+     * Pages through IDs in the order given, starting at position from. The IDs are loaded a chunk at
+     * a time, with the other criteria applied by the query, until the page and one more row are found.
+     */
+    private TaskPage<TaskRow> findPageInOrder(List<Long> ids, TaskFilter filter, int from, int limit) {
+        List<TaskRow> rows = new ArrayList<>(limit + 1);
+        // Chunks grow while the criteria reject most of the IDs
+        for (int chunk = limit + 1; rows.size() <= limit && from < ids.size();
+             chunk = Math.min(2 * chunk, ID_LIST_BATCH_SIZE)) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + chunk));
+            Map<Long, TaskRow> found = taskRepository.findRowPage(filter.withIds(batch), TaskSort.DEFAULT, null, batch.size())
+                    .stream().collect(Collectors.toMap(TaskRow::getId, Function.identity()));
+            for (Long id : batch) {
+                TaskRow row = found.get(id);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            from += batch.size();
+        }
+        return toPage(rows, TaskSort.DEFAULT, limit);
+    }
+
+    /**
+     * Sorted page among the given IDs: each batch of IDs yields its own page after the cursor,
+     * and the first rows of their merge form the page
+     */
+    private TaskPage<TaskRow> findPageAmong(List<Long> ids, TaskFilter filter, TaskSort sort, TaskCursor after, int limit) {
+        List<TaskRow> rows = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_LIST_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + ID_LIST_BATCH_SIZE));
+            rows.addAll(taskRepository.findRowPage(filter.withIds(batch), sort, after, limit + 1));
+        }
+        rows.sort(sort.rowOrder());
+        return toPage(rows, sort, limit);
+    }
+
+    private static TaskCursor decodeCursor(String cursor, TaskSort sort) {
+        return cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor, sort);
+    }
+
+    // Rows beyond the limit only tell that another page follows
+    private static TaskPage<TaskRow> toPage(List<TaskRow> rows, TaskSort sort, int limit) {
+        if (rows.size() <= limit) {
+            return new TaskPage<>(rows, null);
+        }
+        List<TaskRow> page = new ArrayList<>(rows.subList(0, limit));
+        return new TaskPage<>(page, TaskCursor.after(sort, page.get(limit - 1)).encode());
+    }
+
+    // Statistics and projects are served from memory; SUPPORTS avoids opening a transaction for them
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TaskStats getTaskStats() {
+        return taskStatistics.getStats();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long getTotalTasksCount() {
+        return taskStatistics.getStats().total();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getCompletedTasksCount() {
-        return taskRepository.countByCompleted(true);
+        return taskStatistics.getStats().completed();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getPendingTasksCount() {
-        return taskRepository.countByCompleted(false);
+        return taskStatistics.getStats().pending();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getOverdueTasksCount() {
-        return taskRepository.countOverdueTasks(LocalDate.now());
+        return taskStatistics.getStats().overdue();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<String> getAllProjects() {
-        logger.info("Retrieving all project names");
-        return taskRepository.findDistinctProjects();
+        return taskStatistics.getProjects();
     }
 
     @Override
     @Transactional(readOnly = true)
     public String exportTasksToJson() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        exportTasksToJson(buffer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Streams every task as a JSON array straight to the given stream.
+     * Rows come from a forward-only cursor and each entity is detached once written,
+     * so heap use does not grow with the size of the table.
+     * The stream is flushed but not closed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasksToJson(OutputStream outputStream) {
         logger.info("Exporting all tasks to JSON");
-        try {
-            List<Task> tasks = taskRepository.findAll();
-            return objectMapper.writeValueAsString(tasks);
-        } catch (JsonProcessingException e) {
-            logger.severe("Error exporting tasks to JSON: " + e.getMessage());
+        // The scan bypasses the second-level cache and the export is cached nowhere, so a replica may serve it
+        long exported = ReplicaReads.call(() -> writeTasks(outputStream));
+        logger.info("Exported {} tasks", exported);
+    }
+
+    private long writeTasks(OutputStream outputStream) {
+        long exported = 0;
+        try (Stream<Task> tasks = taskRepository.streamAllOrderById();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            generator.flush();
+
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                generator.writeObject(task);
+                entityManager.detach(task);
+                exported++;
+            }
+
+            generator.writeEndArray();
+            generator.flush();
+            return exported;
+        } catch (IOException e) {
+            logger.error("Error exporting tasks to JSON after {} tasks: {}", exported, e.getMessage());
             throw new RuntimeException("Error exporting tasks to JSON", e);
         }
     }
@@ -256,46 +679,140 @@ public class TaskServiceImpl implements TaskService {
             tasks.forEach(task -> task.setId(null));
 
             List<Task> savedTasks = taskRepository.saveAll(tasks);
-            logger.info("Successfully imported " + savedTasks.size() + " tasks");
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(TaskChangedEvent.Type.BULK_CREATED));
+            logger.info("Successfully imported {} tasks", savedTasks.size());
             return savedTasks;
         } catch (JsonProcessingException e) {
-            logger.severe("Error importing tasks from JSON: " + e.getMessage());
+            logger.error("Error importing tasks from JSON: {}", e.getMessage());
             throw new RuntimeException("Error importing tasks from JSON", e);
         }
     }
 
+    /**
+     * Chunked import; each chunk commits on its own, so no surrounding transaction
+     */
     @Override
-    public void deleteAllTasks() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResult importTasks(InputStream jsonStream) {
+        logger.info("Importing tasks from JSON stream");
+        ImportResult result = taskImporter.importTasks(jsonStream);
+        if (result.getImportedCount() > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(TaskChangedEvent.Type.BULK_CREATED));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deleteAllTasks() {
         logger.info("Deleting all tasks");
-        taskRepository.deleteAll();
-        logger.info("All tasks deleted successfully");
+        int deleted = deleteInBatches(afterId -> taskRepository.findIdsAfter(afterId, Limit.of(DELETE_BATCH_SIZE)));
+        publishBulkDelete(deleted);
+        logger.info("Deleted {} tasks", deleted);
+        return deleted;
     }
 
     @Override
-    public void deleteCompletedTasks() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deleteCompletedTasks() {
         logger.info("Deleting completed tasks");
-        List<Task> completedTasks = taskRepository.findByCompleted(true);
-        taskRepository.deleteAll(completedTasks);
-        logger.info("Deleted " + completedTasks.size() + " completed tasks");
+        int deleted = deleteInBatches(afterId -> taskRepository.findCompletedIdsAfter(afterId, Limit.of(DELETE_BATCH_SIZE)));
+        publishBulkDelete(deleted);
+        logger.info("Deleted {} completed tasks", deleted);
+        return deleted;
     }
 
+    /**
+     * Deletes the completed tasks last changed more than the given number of days ago. There is no
+     * completion timestamp, so updatedAt stands in for it: editing a completed task restarts its age.
+     *
+     * @throws IllegalArgumentException if days is negative
+     */
     @Override
-    public List<Task> markAllTasksAsCompleted() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deleteCompletedTasksOlderThan(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Days must not be negative: " + days);
+        }
+        logger.info("Deleting tasks completed more than {} days ago", days);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        int deleted = deleteInBatches(afterId ->
+                taskRepository.findCompletedIdsUpdatedBefore(cutoff, afterId, Limit.of(DELETE_BATCH_SIZE)));
+        publishBulkDelete(deleted);
+        logger.info("Deleted {} completed tasks older than {} days", deleted, days);
+        return deleted;
+    }
+
+    @Override
+    public int markAllTasksAsCompleted() {
         logger.info("Marking all tasks as completed");
-        List<Task> allTasks = taskRepository.findAll();
-        allTasks.forEach(task -> task.setCompleted(true));
-        List<Task> updatedTasks = taskRepository.saveAll(allTasks);
-        logger.info("Marked " + updatedTasks.size() + " tasks as completed");
-        return updatedTasks;
+        int updated = taskRepository.updateCompletedForAll(true, LocalDateTime.now());
+        publishBulkUpdate(updated);
+        logger.info("Marked {} tasks as completed", updated);
+        return updated;
     }
 
     @Override
-    public List<Task> markAllTasksAsIncomplete() {
+    public int markAllTasksAsIncomplete() {
         logger.info("Marking all tasks as incomplete");
-        List<Task> allTasks = taskRepository.findAll();
-        allTasks.forEach(task -> task.setCompleted(false));
-        List<Task> updatedTasks = taskRepository.saveAll(allTasks);
-        logger.info("Marked " + updatedTasks.size() + " tasks as incomplete");
-        return updatedTasks;
+        int updated = taskRepository.updateCompletedForAll(false, LocalDateTime.now());
+        publishBulkUpdate(updated);
+        logger.info("Marked {} tasks as incomplete", updated);
+        return updated;
+    }
+
+    @Override
+    public int markProjectTasksAsCompleted(String project) {
+        logger.info("Marking all tasks in project as completed: {}", project);
+        int updated = taskRepository.updateCompletedForProject(project, true, LocalDateTime.now());
+        publishBulkUpdate(updated);
+        logger.info("Marked {} tasks in project {} as completed", updated, project);
+        return updated;
+    }
+
+    /**
+     * The batch processor manages its own transactions, so none surrounds it
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResult applyBatch(TaskBatchRequest request) {
+        logger.debug("Applying batch of {} operations ({})", request.operations().size(), request.mode());
+        return taskBatchProcessor.process(request);
+    }
+
+    private void publishBulkUpdate(int updated) {
+        if (updated > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(TaskChangedEvent.Type.BULK_UPDATED));
+        }
+    }
+
+    // Batched deletes commit batch by batch; the event is published once all batches are done
+    private void publishBulkDelete(int deleted) {
+        if (deleted > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(TaskChangedEvent.Type.BULK_DELETED));
+        }
+    }
+
+    /**
+     * Deletes the IDs produced by nextBatch, one short transaction per batch,
+     * so a large delete never holds locks on the whole table.
+     * nextBatch receives the last deleted ID and returns up to DELETE_BATCH_SIZE IDs after it, in order.
+     */
+    private int deleteInBatches(LongFunction<List<Long>> nextBatch) {
+        int deleted = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = nextBatch.apply(afterId);
+            if (ids.isEmpty()) {
+                return deleted;
+            }
+            deleted += transactionTemplate.execute(status -> taskRepository.deleteByIdIn(ids));
+            // Set-based deletes bypass the entity listener that maintains the search index
+            searchIndex.removeAll(ids);
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < DELETE_BATCH_SIZE) {
+                return deleted;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,189 @@
+package com.example.todolist.service;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import com.example.todolist.model.TaskStats;
+import com.example.todolist.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory dashboard counters and project list.
+ * Loaded with one aggregate query, then kept current from committed TaskChangedEvents,
+ * so reads never touch the database. Pending tasks due today or later are counted per day;
+ * when the date changes those days are moved into the overdue count without a rescan.
+ * Bulk changes and a periodic reconciliation reload everything from the database.
+ */
+@Component
+public class TaskStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatistics.class);
+
+    private final TaskRepository taskRepository;
+    private final Clock clock;
+
+    // Guards the mutable state below. A lock rather than synchronized: reload() runs a query while
+    // holding it, and a virtual thread blocked in JDBC inside a monitor would pin its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private long total;
+    private long completed;
+    private long overdue;
+    private volatile LocalDate today;
+    private final NavigableMap<LocalDate, Long> pendingByDueDate = new TreeMap<>();
+    private final Map<String, Long> tasksByProject = new TreeMap<>();
+
+    // Published read views
+    private volatile TaskStats stats;
+    private volatile List<String> projects = List.of();
+
+    public TaskStatistics(TaskRepository taskRepository, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.clock = clock;
+    }
+
+    public TaskStats getStats() {
+        TaskStats current = stats;
+        if (current == null || !LocalDate.now(clock).equals(today)) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    public List<String> getProjects() {
+        if (stats == null) {
+            refresh();
+        }
+        return projects;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${todolist.stats.reconcile-interval:PT10M}",
+               initialDelayString = "${todolist.stats.reconcile-interval:PT10M}")
+    public void reload() {
+        lock.lock();
+        try {
+            load();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ahead of the live event stream, which pushes the counters after each change
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.lock();
+        try {
+            if (event.type().isBulk() || stats == null) {
+                load();
+                return;
+            }
+            rollOver();
+            boolean projectsChanged = false;
+            if (event.before() != null) {
+                projectsChanged = apply(event.before(), -1);
+            }
+            if (event.after() != null) {
+                projectsChanged |= apply(event.after(), 1);
+            }
+            publish(projectsChanged);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TaskStats refresh() {
+        lock.lock();
+        try {
+            if (stats == null) {
+                load();
+            } else if (rollOver()) {
+                publish(false);
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void load() {
+        total = 0;
+        completed = 0;
+        overdue = 0;
+        today = LocalDate.now(clock);
+        pendingByDueDate.clear();
+        tasksByProject.clear();
+
+        for (Object[] row : taskRepository.countGroupedByStatusDueDateAndProject()) {
+            apply((Boolean) row[0], (LocalDate) row[1], (String) row[2], (Long) row[3]);
+        }
+        publish(true);
+        logger.info("Task statistics loaded: {}", stats);
+    }
+
+    /**
+     * Moves pending tasks due before the new date into the overdue count
+     */
+    private boolean rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (now.equals(today)) {
+            return false;
+        }
+        NavigableMap<LocalDate, Long> nowOverdue = pendingByDueDate.headMap(now, false);
+        for (long count : nowOverdue.values()) {
+            overdue += count;
+        }
+        nowOverdue.clear();
+        today = now;
+        return true;
+    }
+
+    private boolean apply(TaskSnapshot task, long delta) {
+        return apply(task.completed(), task.dueDate(), task.project(), delta);
+    }
+
+    /**
+     * Adds delta tasks with the given state to the counters; returns true if a project appeared or disappeared
+     */
+    private boolean apply(boolean isCompleted, LocalDate dueDate, String project, long delta) {
+        total += delta;
+        if (isCompleted) {
+            completed += delta;
+        } else if (dueDate != null) {
+            if (dueDate.isBefore(today)) {
+                overdue += delta;
+            } else {
+                addCount(pendingByDueDate, dueDate, delta);
+            }
+        }
+        return project != null && !project.isEmpty() && addCount(tasksByProject, project, delta);
+    }
+
+    // Returns true if the key was added or removed
+    private static <K> boolean addCount(Map<K, Long> counts, K key, long delta) {
+        Long before = counts.get(key);
+        Long after = counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+        return before == null || after == null;
+    }
+
+    private void publish(boolean projectsChanged) {
+        if (projectsChanged) {
+            projects = List.copyOf(tasksByProject.keySet());
+        }
+        stats = new TaskStats(total, completed, total - completed, overdue);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todolist.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Maps a task to its shard. A task lives on the shard of its project: the CRC-32 of the upper-cased
+ * name modulo the shard count, so every spelling the IgnoreCase queries match lands on the same shard.
+ * Tasks without a project (null or blank) go to the default shard.
+ * <p>
+ * IDs carry the shard they were created on in their low SHARD_BITS bits, so a lookup by ID goes
+ * straight there. A task whose project later moves it elsewhere keeps its ID; lookups then fall back
+ * to the other shards. The mapping depends on the shard count, which is fixed once shards hold data.
+ */
+public final class ShardRouter {
+
+    static final int SHARD_BITS = 8;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private final int shardCount;
+    private final int defaultShard;
+
+    public ShardRouter(int shardCount, int defaultShard) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + MAX_SHARDS + ": " + shardCount);
+        }
+        if (defaultShard < 0 || defaultShard >= shardCount) {
+            throw new IllegalArgumentException("Default shard " + defaultShard + " is not one of " + shardCount + " shards");
+        }
+        this.shardCount = shardCount;
+        this.defaultShard = defaultShard;
+    }
+
+    public int getShardCount() { return shardCount; }
+    public int getDefaultShard() { return defaultShard; }
+
+    public int shardOf(String project) {
+        if (project == null || project.isBlank()) {
+            return defaultShard;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(project.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    /**
+     * Shard the task was created on, or -1 for an ID no shard of this router hands out
+     */
+    public int homeShardOf(long id) {
+        int shard = (int) (id & (MAX_SHARDS - 1));
+        return id > 0 && shard < shardCount ? shard : -1;
+    }
+
+    static long idOf(long sequence, int shard) {
+        return (sequence << SHARD_BITS) | shard;
+    }
+}
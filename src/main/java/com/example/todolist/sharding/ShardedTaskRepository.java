@@ -0,0 +1,476 @@
+package com.example.todolist.sharding;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Task persistence split across several databases by project (see ShardRouter). Each shard holds
+ * a tasks table with the entity's columns and indexes, created from sharding/schema-{platform}.sql.
+ * <p>
+ * Project queries run on the one shard the project maps to. Global queries run on every shard at
+ * once, one thread per shard: counts are summed, and ordered results are merged as they stream in
+ * (SortedMerge), so the full list is never held per shard. Ordered merges assume the shards order
+ * strings the way String.compareTo does (binary collation); with another collation every row is
+ * still returned, but projects may come back out of order.
+ * <p>
+ * Updates are versioned like the entity's @Version and fail with OptimisticLockingFailureException
+ * on a stale version. A task whose project moves to another shard is copied there as a pending row,
+ * which no query returns, then deleted from its old shard, and only then is the copy made visible.
+ * Each step is one statement on one database. If the process dies after the copy, the old row is
+ * still the visible one; if it dies after the delete, the task is hidden until recoverMoves() makes
+ * the copy visible. Queries never see a task twice.
+ * <p>
+ * Not wired into TaskService, whose caches, indexes and change events assume the single JPA database.
+ * To use it, build it over the shard DataSources, call initializeSchema() and recoverMoves() on startup,
+ * and close it on shutdown. The order of the DataSources, and their number, must not change once the
+ * shards hold tasks.
+ */
+public class ShardedTaskRepository implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedTaskRepository.class);
+
+    // A pending move must have stalled if its copy is older than this
+    static final Duration MOVE_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final String COLUMNS = "id, title, description, due_date, project, completed, priority_rank, "
+            + "created_at, updated_at, version";
+    // Every read goes through VISIBLE: the copy of a task still being moved is not returned
+    private static final String VISIBLE = "pending = FALSE ";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM tasks WHERE " + VISIBLE;
+    private static final String INSERT = "INSERT INTO tasks (" + COLUMNS + ", pending) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE tasks SET title = ?, description = ?, due_date = ?, project = ?, "
+            + "completed = ?, priority_rank = ?, updated_at = ?, version = version + 1 "
+            + "WHERE id = ? AND version = ? AND " + VISIBLE;
+
+    private static final RowMapper<Task> TASK_MAPPER = ShardedTaskRepository::mapTask;
+
+    private final ShardRouter router;
+    private final List<Shard> shards;
+    private final Clock clock;
+    private final ExecutorService executor;
+
+    public ShardedTaskRepository(List<DataSource> dataSources, int defaultShard, Clock clock) {
+        this.router = new ShardRouter(dataSources.size(), defaultShard);
+        this.clock = clock;
+        List<Shard> list = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            list.add(new Shard(i, dataSources.get(i)));
+        }
+        this.shards = List.copyOf(list);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ShardRouter getRouter() {
+        return router;
+    }
+
+    /**
+     * Creates the tables and indexes missing on any shard
+     */
+    public void initializeSchema() {
+        for (Shard shard : shards) {
+            String product = shard.jdbc.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            String platform = switch (product) {
+                case "H2" -> "h2";
+                case "MySQL" -> "mysql";
+                default -> throw new IllegalStateException("No shard schema for " + product);
+            };
+            new ResourceDatabasePopulator(new ClassPathResource("sharding/schema-" + platform + ".sql"))
+                    .execute(shard.dataSource);
+        }
+        logger.info("Task shards ready: {} shards, default shard {}", shards.size(), router.getDefaultShard());
+    }
+
+    /**
+     * Inserts a new task on its project's shard, or updates an existing one, moving it when its project
+     * now maps to another shard. Sets the ID, timestamps and version on the given task.
+     */
+    public Task save(Task task) {
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        Shard target = shards.get(router.shardOf(task.getProject()));
+        if (task.getId() == null) {
+            task.setId(target.nextId());
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setVersion(0L);
+            insert(target, task, false);
+            return task;
+        }
+
+        long version = task.getVersion() == null ? 0 : task.getVersion();
+        int updated = target.jdbc.update(UPDATE, task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.getProject(), task.isCompleted(), rankOf(task), now, task.getId(), version);
+        if (updated == 1) {
+            task.setUpdatedAt(now);
+            task.setVersion(version + 1);
+            return task;
+        }
+        if (versionOn(target, task.getId()) == null) {
+            Shard source = shards.stream()
+                    .filter(shard -> shard != target && Long.valueOf(version).equals(versionOn(shard, task.getId())))
+                    .findFirst()
+                    .orElse(null);
+            if (source != null) {
+                return move(task, source, target, version, now);
+            }
+        }
+        throw new OptimisticLockingFailureException("Task " + task.getId() + " was updated or deleted by another transaction");
+    }
+
+    public Optional<Task> findById(long id) {
+        int home = router.homeShardOf(id);
+        if (home >= 0) {
+            Optional<Task> task = findOn(shards.get(home), id);
+            if (task.isPresent()) {
+                return task;
+            }
+        }
+        // Moved off its home shard by a project change
+        return shards.stream()
+                .filter(shard -> shard.index != home)
+                .map(shard -> findOn(shard, id))
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    /**
+     * Deletes the task from every shard: a pending copy left by an interrupted move goes too, or
+     * recoverMoves() would bring the task back
+     */
+    public boolean deleteById(long id) {
+        return scatter(shard -> shard.jdbc.update("DELETE FROM tasks WHERE id = ?", id)).stream()
+                .anyMatch(deleted -> deleted > 0);
+    }
+
+    /**
+     * Finishes or undoes the moves that stopped halfway, i.e. pending copies older than MOVE_TIMEOUT:
+     * a copy whose task is still visible elsewhere is deleted, one whose old row is gone is made visible.
+     * Returns the number of moves resolved.
+     */
+    public int recoverMoves() {
+        LocalDateTime stalledBefore = LocalDateTime.now(clock).minus(MOVE_TIMEOUT);
+        int resolved = 0;
+        for (Shard shard : shards) {
+            List<Long> ids = shard.jdbc.queryForList(
+                    "SELECT id FROM tasks WHERE pending = TRUE AND updated_at < ?", Long.class, stalledBefore);
+            for (long id : ids) {
+                boolean stillVisible = shards.stream().anyMatch(other -> other != shard && versionOn(other, id) != null);
+                if (stillVisible) {
+                    shard.jdbc.update("DELETE FROM tasks WHERE id = ? AND pending = TRUE", id);
+                } else {
+                    shard.jdbc.update("UPDATE tasks SET pending = FALSE WHERE id = ?", id);
+                }
+                logger.info("Recovered an interrupted move of task {} to shard {}: {}", id, shard.index,
+                        stillVisible ? "undone" : "completed");
+                resolved++;
+            }
+        }
+        return resolved;
+    }
+
+    // Single-shard queries: all spellings of a project live on one shard
+
+    public List<Task> findByProjectIgnoreCase(String project) {
+        return shardFor(project).jdbc.query(SELECT + "AND UPPER(project) = UPPER(?) ORDER BY id", TASK_MAPPER, project);
+    }
+
+    public List<Task> findByProjectIgnoreCaseAndCompleted(String project, boolean completed) {
+        return shardFor(project).jdbc.query(SELECT + "AND UPPER(project) = UPPER(?) AND completed = ? ORDER BY id",
+                TASK_MAPPER, project, completed);
+    }
+
+    public long countByProjectIgnoreCase(String project) {
+        return shardFor(project).jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE " + VISIBLE + "AND UPPER(project) = UPPER(?)",
+                Long.class, project);
+    }
+
+    // Global queries: every shard in parallel
+
+    /**
+     * All tasks in the given order, merged from the shards as they are read. Close the stream when done:
+     * each shard holds a connection until then.
+     */
+    public Stream<Task> streamAllSorted(TaskSort sort) {
+        String sql = SELECT + "ORDER BY " + orderByOf(sort);
+        List<CompletableFuture<Stream<Task>>> opening = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.jdbc.queryForStream(sql, TASK_MAPPER), executor))
+                .toList();
+        List<Stream<Task>> opened = new ArrayList<>(opening.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<Stream<Task>> future : opening) {
+            try {
+                opened.add(future.join());
+            } catch (CompletionException e) {
+                failure = failure == null ? unwrap(e) : failure;
+            }
+        }
+        if (failure != null) {
+            SortedMerge.closeAll(opened);
+            throw failure;
+        }
+        return SortedMerge.merge(opened, comparatorOf(sort));
+    }
+
+    public List<Task> findAllSorted(TaskSort sort) {
+        try (Stream<Task> tasks = streamAllSorted(sort)) {
+            return tasks.toList();
+        }
+    }
+
+    public long count() {
+        return sum(shard -> shard.jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE " + VISIBLE, Long.class));
+    }
+
+    public long countByCompleted(boolean completed) {
+        return sum(shard -> shard.jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE " + VISIBLE + "AND completed = ?", Long.class, completed));
+    }
+
+    public long countOverdueTasks(LocalDate today) {
+        return sum(shard -> shard.jdbc.queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE " + VISIBLE + "AND due_date < ? AND completed = FALSE", Long.class, today));
+    }
+
+    public List<String> findDistinctProjects() {
+        List<Stream<String>> sorted = scatter(shard -> shard.jdbc.queryForList(
+                "SELECT DISTINCT project FROM tasks WHERE " + VISIBLE + "AND project IS NOT NULL AND project <> '' ORDER BY project",
+                String.class).stream());
+        try (Stream<String> merged = SortedMerge.merge(sorted, Comparator.naturalOrder())) {
+            return merged.distinct().toList();
+        }
+    }
+
+    /**
+     * Stops the query threads and closes the shard data sources
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (Shard shard : shards) {
+            if (shard.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Could not close shard {}: {}", shard.index, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Ordering of a sort mode as the shards' ORDER BY produces it: NULLs lowest, ties broken by ID
+     */
+    static Comparator<Task> comparatorOf(TaskSort sort) {
+        Comparator<Task> result = null;
+        for (TaskSort.SortKey key : sort.getKeys()) {
+            Comparator<Task> next = (a, b) -> compareNullsLow(valueOf(a, key.attribute()), valueOf(b, key.attribute()));
+            if (key.descending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private static Comparable<?> valueOf(Task task, String attribute) {
+        return switch (attribute) {
+            case "id" -> task.getId();
+            case "dueDate" -> task.getDueDate();
+            case "createdAt" -> task.getCreatedAt();
+            case "project" -> task.getProject();
+            // Declared LOW to HIGH, so the enum order is the rank order
+            case "priority" -> task.getPriority();
+            default -> throw new IllegalArgumentException("Unknown sort attribute: " + attribute);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareNullsLow(Comparable a, Comparable b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : a == null ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static String orderByOf(TaskSort sort) {
+        return sort.getKeys().stream()
+                .map(key -> columnOf(key.attribute()) + (key.descending() ? " DESC" : " ASC"))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String columnOf(String attribute) {
+        return switch (attribute) {
+            case "id" -> "id";
+            case "dueDate" -> "due_date";
+            case "createdAt" -> "created_at";
+            case "project" -> "project";
+            case "priority" -> "priority_rank";
+            default -> throw new IllegalArgumentException("Unknown sort attribute: " + attribute);
+        };
+    }
+
+    private Shard shardFor(String project) {
+        return shards.get(router.shardOf(project));
+    }
+
+    private Optional<Task> findOn(Shard shard, long id) {
+        return shard.jdbc.query(SELECT + "AND id = ?", TASK_MAPPER, id).stream().findFirst();
+    }
+
+    private static Long versionOn(Shard shard, long id) {
+        return shard.jdbc.query("SELECT version FROM tasks WHERE " + VISIBLE + "AND id = ?", (rs, row) -> rs.getLong(1), id)
+                .stream().findFirst().orElse(null);
+    }
+
+    /**
+     * Copies the task to its new shard as a pending row, deletes it from the old one if it still has the
+     * version the change was based on, and makes the copy visible. If the old row has changed, the copy is
+     * removed again and the change fails.
+     */
+    private Task move(Task task, Shard source, Shard target, long version, LocalDateTime now) {
+        Task moved = findOn(source, task.getId()).orElseThrow(() -> new OptimisticLockingFailureException(
+                "Task " + task.getId() + " was deleted by another transaction"));
+        task.setCreatedAt(moved.getCreatedAt());
+        task.setUpdatedAt(now);
+        task.setVersion(version + 1);
+        insert(target, task, true);
+        if (source.jdbc.update("DELETE FROM tasks WHERE id = ? AND version = ? AND " + VISIBLE, task.getId(), version) == 0) {
+            target.jdbc.update("DELETE FROM tasks WHERE id = ? AND pending = TRUE", task.getId());
+            task.setVersion(version);
+            throw new OptimisticLockingFailureException("Task " + task.getId() + " was updated by another transaction");
+        }
+        if (target.jdbc.update("UPDATE tasks SET pending = FALSE WHERE id = ?", task.getId()) == 0) {
+            throw new OptimisticLockingFailureException("Task " + task.getId() + " was deleted by another transaction");
+        }
+        logger.debug("Moved task {} from shard {} to shard {}", task.getId(), source.index, target.index);
+        return task;
+    }
+
+    private static void insert(Shard shard, Task task, boolean pending) {
+        shard.jdbc.update(INSERT, task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.getProject(), task.isCompleted(), rankOf(task), task.getCreatedAt(), task.getUpdatedAt(),
+                task.getVersion(), pending);
+    }
+
+    private static Byte rankOf(Task task) {
+        return task.getPriority() == null ? null : task.getPriority().getRank();
+    }
+
+    private long sum(Function<Shard, Long> count) {
+        return scatter(count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Runs the query on every shard at once and returns the results in shard order
+     */
+    private <T> List<T> scatter(Function<Shard, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+
+    private static Task mapTask(ResultSet rs, int row) throws SQLException {
+        Task task = new Task(rs.getString("title"), rs.getString("description"),
+                rs.getObject("due_date", LocalDate.class), rs.getString("project"));
+        task.setId(rs.getLong("id"));
+        task.setCompleted(rs.getBoolean("completed"));
+        byte rank = rs.getByte("priority_rank");
+        task.setPriority(rs.wasNull() ? null : Task.Priority.fromRank(rank));
+        task.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        task.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        task.setVersion(rs.getLong("version"));
+        return task;
+    }
+
+    /**
+     * One database: its queries, and the block of IDs it hands out next
+     */
+    private static final class Shard {
+
+        private final int index;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transaction;
+
+        // Guards the ID block; a lock rather than synchronized, as refilling it queries the database
+        private final ReentrantLock idLock = new ReentrantLock();
+        private long nextSequence;
+        private long sequenceLimit;
+
+        Shard(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.jdbc.setFetchSize(TaskRepository.STREAM_FETCH_SIZE);
+            this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        /**
+         * Next ID created on this shard. Sequence values are reserved Task.ID_ALLOCATION_SIZE at a time,
+         * so IDs stay unique across application instances sharing the shards.
+         */
+        long nextId() {
+            idLock.lock();
+            try {
+                if (nextSequence == sequenceLimit) {
+                    Long reserved = transaction.execute(status -> {
+                        jdbc.update("UPDATE shard_id_seq SET next_val = next_val + ?", Task.ID_ALLOCATION_SIZE);
+                        return jdbc.queryForObject("SELECT next_val FROM shard_id_seq", Long.class);
+                    });
+                    sequenceLimit = reserved;
+                    nextSequence = reserved - Task.ID_ALLOCATION_SIZE;
+                }
+                return ShardRouter.idOf(nextSequence++, index);
+            } finally {
+                idLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.todolist.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy k-way merge of streams that are each sorted by the same order. Holds one element per source
+ * in a heap, so merging n rows from k shards takes O(n log k) comparisons and O(k) memory, and rows
+ * are read from a source only as the merged stream is consumed. Closing the result closes every source.
+ */
+final class SortedMerge {
+
+    private SortedMerge() {}
+
+    static <T> Stream<T> merge(List<Stream<T>> sources, Comparator<? super T> order) {
+        List<Iterator<T>> iterators = new ArrayList<>(sources.size());
+        for (Stream<T> source : sources) {
+            iterators.add(source.iterator());
+        }
+        Iterator<T> merged = new Iterator<>() {
+
+            private final PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, iterators.size()),
+                    Comparator.comparing((Head<T> head) -> head.value(), order).thenComparingInt(Head::source));
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    for (int i = 0; i < iterators.size(); i++) {
+                        advance(i);
+                    }
+                    started = true;
+                }
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Head<T> head = heads.poll();
+                advance(head.source());
+                return head.value();
+            }
+
+            private void advance(int source) {
+                Iterator<T> iterator = iterators.get(source);
+                if (iterator.hasNext()) {
+                    heads.add(new Head<>(iterator.next(), source));
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> closeAll(sources));
+    }
+
+    /**
+     * Closes every stream, throwing the first failure once all have been tried
+     */
+    static void closeAll(List<? extends Stream<?>> streams) {
+        RuntimeException failure = null;
+        for (Stream<?> stream : streams) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private record Head<T>(T value, int source) {}
+}
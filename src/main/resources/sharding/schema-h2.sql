@@ -0,0 +1,24 @@
+-- Task shard schema (H2); same columns and indexes as the Task entity
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT NOT NULL PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000),
+    due_date DATE,
+    project VARCHAR(100),
+    completed BOOLEAN NOT NULL,
+    priority_rank TINYINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    -- Copy of a task still being moved here from another shard; not returned by queries
+    pending BOOLEAN DEFAULT FALSE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_due_date ON tasks (completed, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_due_date ON tasks (project, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_due_date ON tasks (priority_rank, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks (created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_pending ON tasks (pending);
+
+-- Next ID sequence value of this shard, handed out in blocks
+CREATE TABLE IF NOT EXISTS shard_id_seq (next_val BIGINT NOT NULL);
+INSERT INTO shard_id_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM shard_id_seq);
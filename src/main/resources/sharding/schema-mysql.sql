@@ -0,0 +1,24 @@
+-- Task shard schema (MySQL); same columns and indexes as the Task entity
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT NOT NULL PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000),
+    due_date DATE,
+    project VARCHAR(100),
+    completed BIT NOT NULL,
+    priority_rank TINYINT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    -- Copy of a task still being moved here from another shard; not returned by queries
+    pending BIT NOT NULL DEFAULT 0,
+    INDEX idx_tasks_completed_due_date (completed, due_date),
+    INDEX idx_tasks_project_due_date (project, due_date),
+    INDEX idx_tasks_priority_due_date (priority_rank, due_date),
+    INDEX idx_tasks_created_at (created_at),
+    INDEX idx_tasks_pending (pending)
+) ENGINE=InnoDB;
+
+-- Next ID sequence value of this shard, handed out in blocks
+CREATE TABLE IF NOT EXISTS shard_id_seq (next_val BIGINT NOT NULL) ENGINE=InnoDB;
+INSERT INTO shard_id_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM shard_id_seq);
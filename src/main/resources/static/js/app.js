@@ -18,6 +18,7 @@ function initializeApp() {
     initializeKeyboardShortcuts();
     initializeToggleAnimations();
     initializeSearchFeatures();
+    initializeLiveUpdates();
     updateTimestamps();
 
     // Update timestamps every minute
@@ -322,23 +323,51 @@ window.toggleTask = toggleTask;
 window.deleteTask = deleteTask;
 window.editTask = editTask;
 
-// Statistics update (if needed for real-time updates)
-function updateStats() {
-    fetch('/api/tasks/stats')
-        .then(response => response.json())
-        .then(data => {
-            // Update stat cards if they exist
-            const totalElement = document.querySelector('[data-stat="total"]');
-            const completedElement = document.querySelector('[data-stat="completed"]');
-            const pendingElement = document.querySelector('[data-stat="pending"]');
-            const overdueElement = document.querySelector('[data-stat="overdue"]');
-
-            if (totalElement) totalElement.textContent = data.total;
-            if (completedElement) completedElement.textContent = data.completed;
-            if (pendingElement) pendingElement.textContent = data.pending;
-            if (overdueElement) overdueElement.textContent = data.overdue;
-        })
-        .catch(error => console.error('Error updating stats:', error));
+// Live updates: statistics and task changes pushed by the server (Server-Sent Events)
+// instead of polling /api/tasks/stats. EventSource reconnects on its own after a dropped
+// or evicted stream, and the server answers every new connection with the current statistics.
+function initializeLiveUpdates() {
+    if (!window.EventSource || !document.querySelector('[data-stat]')) {
+        return;
+    }
+    const events = new EventSource('/api/tasks/events');
+
+    events.addEventListener('stats', function(event) {
+        updateStats(JSON.parse(event.data));
+    });
+
+    events.addEventListener('task', function(event) {
+        const change = JSON.parse(event.data);
+        if (change.type === 'bulk') {
+            showNotification('Tasks were changed elsewhere. Reload to see them.', 'info', 5000);
+        } else if (change.task) {
+            showNotification(`Task "${escapeHtml(change.task.title)}" was ${change.type}.`, 'info', 5000);
+        }
+    });
+
+    window.addEventListener('beforeunload', function() {
+        events.close();
+    });
+}
+
+// Update stat cards if they exist
+function updateStats(data) {
+    const totalElement = document.querySelector('[data-stat="total"]');
+    const completedElement = document.querySelector('[data-stat="completed"]');
+    const pendingElement = document.querySelector('[data-stat="pending"]');
+    const overdueElement = document.querySelector('[data-stat="overdue"]');
+
+    if (totalElement) totalElement.textContent = data.total;
+    if (completedElement) completedElement.textContent = data.completed;
+    if (pendingElement) pendingElement.textContent = data.pending;
+    if (overdueElement) overdueElement.textContent = data.overdue;
+}
+
+// Escape text inserted into HTML (notifications are built with innerHTML)
+function escapeHtml(text) {
+    const div = document.createElement('div');
+    div.textContent = text;
+    return div.innerHTML;
 }
 
 // Auto-save functionality (if implemented)
@@ -0,0 +1,71 @@
+package com.example.todolist.cache;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * A task cached from its old row while an update of it commits is not served once the update is visible
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskCacheInvalidatorTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void readsDuringTheUpdateDoNotOutliveIt() {
+        Task draft = taskService.saveTask(dto("Draft", null));
+        Long id = draft.getId();
+        taskService.getTaskById(id);
+        assertNotNull(cacheManager.getCache(TaskCaches.TASK_BY_ID).get(id));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.updateTask(id, dto("Final", draft.getVersion()));
+            // Evicted as soon as the change is written
+            assertNull(cacheManager.getCache(TaskCaches.TASK_BY_ID).get(id));
+
+            // Another reader still sees the committed row and caches it again
+            Task seen = CompletableFuture.supplyAsync(() -> taskService.getTaskById(id).orElseThrow()).join();
+            assertEquals("Draft", seen.getTitle());
+            assertNotNull(cacheManager.getCache(TaskCaches.TASK_BY_ID).get(id));
+        });
+
+        Task current = taskService.getTaskById(id).orElseThrow();
+        assertEquals("Final", current.getTitle());
+        // The version an edit form is built from is current, so saving it does not conflict
+        taskService.updateTask(id, dto("Edited again", current.getVersion()));
+    }
+
+    private static TaskDTO dto(String title, Long version) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle(title);
+        dto.setVersion(version);
+        return dto;
+    }
+}
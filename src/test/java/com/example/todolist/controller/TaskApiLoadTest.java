@@ -0,0 +1,200 @@
+package com.example.todolist.controller;
+
+import com.example.todolist.TodolistApplication;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.search.TaskSearchIndex;
+import com.example.todolist.service.TaskStatistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput and latency of the JSON API under many concurrent clients, platform vs virtual threads.
+ * Each mode starts the full application on a random port; every client loops over a read-mostly mix
+ * (keyset pages, stats, toggles) until the run ends. The virtual mode is skipped below Java 21.
+ * Caches are off so requests reach the database.
+ *
+ * Run with: mvn -Pbenchmark test -Dtest=TaskApiLoadTest -Dloadtest.clients=1000 -Dloadtest.seconds=30
+ * Against MySQL add -Dspring.datasource.url=... (and username/password); add
+ * -DargLine=-Djdk.tracePinnedThreads=short on Java 21 to report any carrier thread pinning.
+ */
+@Tag("benchmark")
+class TaskApiLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 10_000);
+    private static final TaskSort[] SORTS = TaskSort.values();
+
+    @Test
+    void platformThreads() throws InterruptedException {
+        run("platform");
+    }
+
+    @Test
+    void virtualThreads() throws InterruptedException {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21+");
+        run("virtual");
+    }
+
+    private void run(String mode) throws InterruptedException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TodolistApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";IGNORECASE=TRUE",
+                        "todolist.cache.enabled=false",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "logging.level.com.example.todolist=WARN");
+        builder = mode.equals("virtual") ? builder.profiles("test", "virtual") : builder.profiles("test");
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            assertEquals(mode.equals("virtual"), Threading.VIRTUAL.isActive(context.getEnvironment()));
+            List<Long> ids = seed(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            drive(baseUrl, ids, WARMUP_SECONDS);
+            Result result = drive(baseUrl, ids, SECONDS);
+
+            System.out.printf("[load test] %-8s %,d clients: %,.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, "
+                            + "%,d requests, %,d errors%n",
+                    mode, CLIENTS, result.requests() / (double) SECONDS, result.percentile(0.50),
+                    result.percentile(0.99), result.percentile(1.0), result.requests(), result.errors());
+            assertTrue(result.requests() > 0);
+            assertEquals(0, result.errors(), "Failed requests");
+        }
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Load task " + i, "Generated for the load test", LocalDate.now().plusDays(i % 60 - 20),
+                    "Project " + (i % 25));
+            task.setPriority(Task.Priority.values()[i % 3]);
+            tasks.add(task);
+        }
+        List<Long> ids = context.getBean(TaskRepository.class).saveAll(tasks).stream().map(Task::getId).toList();
+        // Plain repository saves bypass the change events
+        context.getBean(TaskStatistics.class).reload();
+        context.getBean(TaskSearchIndex.class).rebuild();
+        return ids;
+    }
+
+    /**
+     * Runs all clients against the server for the given time and collects their latencies
+     */
+    private static Result drive(String baseUrl, List<Long> ids, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Latencies[] latencies = new Latencies[CLIENTS];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+
+        // One platform thread per client, so the client side is the same for both server modes
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            Latencies own = latencies[c] = new Latencies();
+            clients.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(baseUrl, ids);
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        own.add(System.nanoTime() - started);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+        return new Result(Latencies.merge(latencies), errors.get());
+    }
+
+    // 80% keyset pages over a random sort, 15% dashboard stats, 5% completion toggles
+    private static HttpRequest nextRequest(String baseUrl, List<Long> ids) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(100);
+        if (pick < 80) {
+            String sort = SORTS[random.nextInt(SORTS.length)].getParam();
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks?sort=" + sort)).GET().build();
+        } else if (pick < 95) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/stats")).GET().build();
+        }
+        long id = ids.get(random.nextInt(ids.size()));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + id + "/toggle"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private static final class Latencies {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void add(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+
+        static long[] merge(Latencies[] all) {
+            long[] merged = new long[Arrays.stream(all).mapToInt(l -> l.size).sum()];
+            int offset = 0;
+            for (Latencies latencies : all) {
+                System.arraycopy(latencies.nanos, 0, merged, offset, latencies.size);
+                offset += latencies.size;
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+    }
+
+    private record Result(long[] sortedNanos, long errors) {
+
+        long requests() {
+            return sortedNanos.length;
+        }
+
+        double percentile(double p) {
+            int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
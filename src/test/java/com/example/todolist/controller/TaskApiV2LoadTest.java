@@ -0,0 +1,196 @@
+package com.example.todolist.controller;
+
+import com.example.todolist.TodolistApplication;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskStatistics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connections, threads and heap of the blocking /api/tasks against the reactive /api/v2/tasks at the
+ * same high concurrency. One application serves both; each API in turn gets the same number of requests
+ * in flight (sorted lists of the same size, and stats) while a sampler records the busy JDBC connections
+ * plus the threads waiting for one, the acquired R2DBC connections plus pending acquires, live threads
+ * and heap in use. Caches are off so requests reach the database.
+ *
+ * Run with: mvn -Pbenchmark test -Dtest=TaskApiV2LoadTest -Dloadtest.clients=2000 -Dloadtest.seconds=30
+ */
+@Tag("benchmark")
+class TaskApiV2LoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2000);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 10_000);
+    private static final int PAGE_SIZE = 50;
+    private static final TaskSort[] SORTS = TaskSort.values();
+
+    @Test
+    void blockingAgainstReactive() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodolistApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:v2loadtest;DB_CLOSE_DELAY=-1;IGNORECASE=TRUE",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///v2loadtest?options=DB_CLOSE_DELAY=-1",
+                        // Same pool size on both sides
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.r2dbc.pool.max-size=20",
+                        "server.tomcat.max-connections=" + (CLIENTS + 100),
+                        "todolist.cache.enabled=false",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "logging.level.com.example.todolist=WARN")
+                .run()) {
+            seed(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HikariPoolMXBean hikari = context.getBean(DataSource.class).unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            PoolMetrics r2dbc = ((ConnectionPool) context.getBean(ConnectionFactory.class)).getMetrics().orElseThrow();
+            IntSupplier jdbcInUse = () -> hikari.getActiveConnections() + hikari.getThreadsAwaitingConnection();
+            IntSupplier r2dbcInUse = () -> r2dbc.acquiredSize() + r2dbc.pendingAcquireSize();
+
+            for (String api : List.of("/api/tasks", "/api/v2/tasks")) {
+                drive(baseUrl, api, WARMUP_SECONDS, jdbcInUse, r2dbcInUse);
+                System.gc();
+                Result result = drive(baseUrl, api, SECONDS, jdbcInUse, r2dbcInUse);
+
+                System.out.printf("[load test] %-14s %,d in flight: %,.0f req/s, %,d errors | JDBC in use max %d avg %.1f"
+                                + " | R2DBC in use max %d avg %.1f | threads max %d | heap max %,d MB avg %,d MB%n",
+                        api, CLIENTS, result.requests() / (double) SECONDS, result.errors(),
+                        result.jdbc().max(), result.jdbc().average(), result.r2dbc().max(), result.r2dbc().average(),
+                        result.threads().max(), result.heap().max() >> 20, (long) result.heap().average() >> 20);
+                assertTrue(result.requests() > 0);
+                assertEquals(0, result.errors(), "Failed requests");
+            }
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Load task " + i, "Generated for the load test", LocalDate.now().plusDays(i % 60 - 20),
+                    "Project " + (i % 25));
+            task.setPriority(Task.Priority.values()[i % 3]);
+            tasks.add(task);
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+        // Plain repository saves bypass the change events
+        context.getBean(TaskStatistics.class).reload();
+    }
+
+    /**
+     * Keeps CLIENTS requests to the API in flight for the given time while sampling the server every 20 ms
+     */
+    private static Result drive(String baseUrl, String api, int seconds, IntSupplier jdbcInUse, IntSupplier r2dbcInUse)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Samples jdbc = new Samples();
+        Samples r2dbc = new Samples();
+        Samples threadCount = new Samples();
+        Samples heap = new Samples();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            jdbc.add(jdbcInUse.getAsInt());
+            r2dbc.add(r2dbcInUse.getAsInt());
+            threadCount.add(threads.getThreadCount());
+            heap.add(memory.getHeapMemoryUsage().getUsed());
+        }, 0, 20, TimeUnit.MILLISECONDS);
+
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            http.sendAsync(nextRequest(baseUrl, api), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        requests.incrementAndGet();
+                        inFlight.release();
+                    });
+        }
+        // Let the last requests finish before the next run
+        inFlight.acquire(CLIENTS);
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+        return new Result(requests.get(), errors.get(), jdbc, r2dbc, threadCount, heap);
+    }
+
+    // 90% sorted lists of PAGE_SIZE rows, 10% dashboard stats
+    private static HttpRequest nextRequest(String baseUrl, String api) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + api + "/stats")).GET().build();
+        }
+        String sort = SORTS[random.nextInt(SORTS.length)].getParam();
+        String size = api.equals("/api/tasks") ? "&size=" + PAGE_SIZE : "&limit=" + PAGE_SIZE;
+        return HttpRequest.newBuilder(URI.create(baseUrl + api + "?sort=" + sort + size))
+                .header("Accept", "application/x-ndjson, application/json")
+                .GET().build();
+    }
+
+    private static final class Samples {
+
+        private long max;
+        private long sum;
+        private long count;
+
+        synchronized void add(long value) {
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+        }
+
+        synchronized long max() {
+            return max;
+        }
+
+        synchronized double average() {
+            return count == 0 ? 0 : sum / (double) count;
+        }
+    }
+
+    private record Result(long requests, long errors, Samples jdbc, Samples r2dbc, Samples threads, Samples heap) {}
+}
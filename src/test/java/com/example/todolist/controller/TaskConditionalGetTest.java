@@ -0,0 +1,123 @@
+package com.example.todolist.controller;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Polls with a current ETag get 304 without any database work; a write makes the old ETag stale
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            taskService.saveTask(new TaskDTO(new Task("Polled task " + i, null, LocalDate.now().plusDays(i), "Poll")));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void unchangedPollsAreAnsweredWithoutQueries() throws Exception {
+        String[] urls = {"/api/tasks", "/api/tasks?sort=priority&size=2", "/api/tasks/stats", "/tasks/export"};
+        String[] etags = new String[urls.length];
+        for (int i = 0; i < urls.length; i++) {
+            MockHttpServletResponse response = fetch(get(urls[i])).getResponse();
+            etags[i] = response.getHeader(HttpHeaders.ETAG);
+            assertNotNull(etags[i], urls[i]);
+            assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED), urls[i]);
+        }
+
+        statistics.clear();
+        for (int poll = 0; poll < 3; poll++) {
+            for (int i = 0; i < urls.length; i++) {
+                mockMvc.perform(get(urls[i]).header(HttpHeaders.IF_NONE_MATCH, etags[i]))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string(HttpHeaders.ETAG, etags[i]))
+                        .andExpect(content().string(""));
+            }
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getTransactionCount());
+    }
+
+    @Test
+    void writeInvalidatesETag() throws Exception {
+        String etag = fetch(get("/api/tasks")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        taskService.saveTask(new TaskDTO(new Task("Added after the poll", null, null, "Poll")));
+
+        String newEtag = mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Added after the poll")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void gzipExportHasItsOwnETag() throws Exception {
+        String plain = fetch(get("/tasks/export")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult gzipped = fetch(get("/tasks/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, plain));
+        assertEquals("gzip", gzipped.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(plain, gzipped.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    // Full 200 response, waiting for the streamed export to finish writing
+    private MvcResult fetch(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+        return result;
+    }
+}
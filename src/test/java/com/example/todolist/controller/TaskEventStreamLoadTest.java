@@ -0,0 +1,148 @@
+package com.example.todolist.controller;
+
+import com.example.todolist.TodolistApplication;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.push.TaskEventStream;
+import com.example.todolist.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many idle live event streams at once: all stay open without a thread each, and one change reaches all of them.
+ * Run with: mvn -Pbenchmark test -Dtest=TaskEventStreamLoadTest -Dloadtest.streams=10000
+ * (needs a file descriptor limit of about twice the number of streams)
+ */
+@Tag("benchmark")
+class TaskEventStreamLoadTest {
+
+    private static final int STREAMS = Integer.getInteger("loadtest.streams", 10_000);
+    // Connections being opened at a time, within the connector's accept backlog
+    private static final int CONNECTING = 100;
+
+    @Test
+    void idleStreamsHoldNoThreads() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodolistApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:streamtest;IGNORECASE=TRUE",
+                        "server.tomcat.max-connections=" + (STREAMS + 100),
+                        "todolist.events.max-subscribers=" + STREAMS,
+                        "logging.level.com.example.todolist=WARN")
+                .run()) {
+            String url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks/events";
+            TaskEventStream eventStream = context.getBean(TaskEventStream.class);
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            CountDownLatch connected = new CountDownLatch(STREAMS);
+            CountDownLatch received = new CountDownLatch(STREAMS);
+            Semaphore connecting = new Semaphore(CONNECTING);
+            AtomicInteger failed = new AtomicInteger();
+            List<CompletableFuture<?>> streams = new ArrayList<>(STREAMS);
+            long started = System.nanoTime();
+            int threadsHalfway = 0;
+            for (int i = 0; i < STREAMS; i++) {
+                if (i == STREAMS / 2) {
+                    // By now the connector's and the client's pools have grown to what the connection rate needs
+                    connecting.acquire(CONNECTING);
+                    threadsHalfway = ManagementFactory.getThreadMXBean().getThreadCount();
+                    connecting.release(CONNECTING);
+                }
+                connecting.acquire();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(5)).GET().build();
+                streams.add(http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(
+                                new StreamWatcher(connecting, connected, received)))
+                        .exceptionally(error -> {
+                            if (failed.getAndIncrement() == 0) {
+                                error.printStackTrace();
+                            }
+                            connecting.release();
+                            return null;
+                        }));
+            }
+            assertTrue(connected.await(2, TimeUnit.MINUTES),
+                    connected.getCount() + " streams not connected, " + failed.get() + " failed");
+            double connectSeconds = (System.nanoTime() - started) / 1e9;
+            assertEquals(STREAMS, eventStream.getSubscriberCount());
+            int threadsOpen = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            long pushed = System.nanoTime();
+            context.getBean(TaskService.class).saveTask(
+                    new TaskDTO(new Task("Fan-out", null, LocalDate.now().plusDays(1), "Load")));
+            assertTrue(received.await(1, TimeUnit.MINUTES), received.getCount() + " streams missed the change");
+            double fanOutMillis = (System.nanoTime() - pushed) / 1e6;
+
+            System.out.printf("[stream test] %,d streams open in %.1f s; JVM threads %d -> %d (%d at half); change reached all in %.0f ms%n",
+                    STREAMS, connectSeconds, threadsBefore, threadsOpen, threadsHalfway, fanOutMillis);
+            // Client and server share the JVM; neither side may need a thread per stream, so the second
+            // half of the streams opens on the threads the first half already started
+            assertTrue(threadsOpen - threadsHalfway < 50,
+                    "Threads grew from " + threadsHalfway + " to " + threadsOpen + " for the second " + (STREAMS - STREAMS / 2) + " streams");
+
+            streams.forEach(stream -> stream.cancel(true));
+        }
+    }
+
+    /**
+     * Reads one stream without blocking a thread: counts the connection, then waits for a "task" event
+     */
+    private static final class StreamWatcher implements Flow.Subscriber<String> {
+
+        private final Semaphore connecting;
+        private final CountDownLatch connected;
+        private final CountDownLatch received;
+        private boolean changeSeen;
+
+        StreamWatcher(Semaphore connecting, CountDownLatch connected, CountDownLatch received) {
+            this.connecting = connecting;
+            this.connected = connected;
+            this.received = received;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            connecting.release();
+            connected.countDown();
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!changeSeen && line.equals("event:task")) {
+                changeSeen = true;
+                received.countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.todolist.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Separate H2 databases stand in for the primary and its replicas; each knows its own name,
+ * so a query shows where it was routed
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final String run = UUID.randomUUID().toString();
+    private final MutableClock clock = new MutableClock();
+    private final List<ReplicaRoutingDataSource> routers = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.resetRequestAttributes();
+        routers.forEach(ReplicaRoutingDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoRoundRobinToTheReplicas() {
+        ReplicaRoutingDataSource dataSource = router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN,
+                database("replica-1"), database("replica-2"));
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"),
+                List.of(read(dataSource), read(dataSource), read(dataSource)));
+        assertEquals("primary", write(dataSource));
+        // Outside a transaction
+        assertEquals("primary", new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+        // Read-only, but not opted in: it may fill a cache
+        assertEquals("primary", readOnly(dataSource).execute(status -> node(dataSource)));
+    }
+
+    @Test
+    void leastLoadedPicksTheReplicaWithFewestConnections() {
+        ReplicaRoutingDataSource dataSource = router(ReplicaRoutingDataSource.Selection.LEAST_LOADED,
+                database("replica-1"), database("replica-2"));
+        TransactionTemplate readOnly = readOnly(dataSource);
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // While the outer transaction holds a connection, each new one goes to the other replica
+        List<String> nodes = ReplicaReads.call(() -> readOnly.execute(outer -> {
+            String first = node(dataSource);
+            String second = readOnly.execute(inner -> node(dataSource));
+            return List.of(first, second);
+        }));
+        assertEquals(2, nodes.stream().distinct().count());
+    }
+
+    @Test
+    void writersReadThePrimaryForTheWindow() {
+        ReplicaRoutingDataSource dataSource = router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, database("replica-1"));
+        MockHttpSession writer = new MockHttpSession();
+
+        inRequest(writer);
+        write(dataSource);
+        // The redirect after the write comes back with the same session
+        inRequest(writer);
+        assertEquals("primary", read(dataSource));
+        inRequest(new MockHttpSession());
+        assertEquals("replica-1", read(dataSource));
+
+        clock.advance(Duration.ofSeconds(6));
+        inRequest(writer);
+        assertEquals("replica-1", read(dataSource));
+    }
+
+    @Test
+    void onlyCommittedChangesMarkTheWriter() {
+        ReplicaRoutingDataSource dataSource = router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, database("replica-1"));
+        MockHttpSession session = new MockHttpSession();
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        inRequest(session);
+        readWrite.execute(status -> node(dataSource));
+        readWrite.execute(status -> new JdbcTemplate(dataSource).update("UPDATE node SET name = name WHERE 1 = 0"));
+        readWrite.execute(status -> {
+            new JdbcTemplate(dataSource).update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+            return null;
+        });
+        inRequest(session);
+        assertEquals("replica-1", read(dataSource));
+        assertNull(session.getAttribute(ReadYourWrites.ATTRIBUTE));
+    }
+
+    @Test
+    void apiRequestsGetNoSession() {
+        ReplicaRoutingDataSource dataSource = router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, database("replica-1"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks/batch");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        write(dataSource);
+        assertNull(request.getSession(false));
+        // The rest of the request still reads its write
+        assertEquals("primary", read(dataSource));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/tasks")));
+        assertEquals("replica-1", read(dataSource));
+    }
+
+    @Test
+    void failedReplicasAreSkippedAndReadsFallBackToThePrimary() {
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:" + run + "-missing;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource dataSource = router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN,
+                missing, database("replica-2"));
+
+        assertEquals(List.of("replica-2", "replica-2", "replica-2"),
+                List.of(read(dataSource), read(dataSource), read(dataSource)));
+
+        ReplicaRoutingDataSource onlyMissing = router(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, missing);
+        assertEquals("primary", read(onlyMissing));
+    }
+
+    private ReplicaRoutingDataSource router(ReplicaRoutingDataSource.Selection selection, DataSource... replicas) {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(database("primary"), List.of(replicas), selection,
+                new ReadYourWrites(Duration.ofSeconds(5), clock), Duration.ofSeconds(30), clock);
+        routers.add(router);
+        return router;
+    }
+
+    private DataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + run + "-" + name);
+        dataSource.setMaximumPoolSize(4);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static String read(DataSource dataSource) {
+        return ReplicaReads.call(() -> readOnly(dataSource).execute(status -> node(dataSource)));
+    }
+
+    private static String write(DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(status -> {
+            new JdbcTemplate(dataSource).update("UPDATE node SET name = name");
+            return node(dataSource);
+        });
+    }
+
+    private static TransactionTemplate readOnly(DataSource dataSource) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static String node(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void inRequest(MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.parse("2025-03-10T09:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
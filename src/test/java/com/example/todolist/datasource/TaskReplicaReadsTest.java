@@ -0,0 +1,90 @@
+package com.example.todolist.datasource;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Which service reads reach a replica. The replica URL is the primary's database, so every read
+ * sees the same data and only the connection counters tell where it went.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicareads;DB_CLOSE_DELAY=-1;IGNORECASE=TRUE",
+        "todolist.replicas.enabled=true",
+        "todolist.replicas.urls=jdbc:h2:mem:replicareads;DB_CLOSE_DELAY=-1;IGNORECASE=TRUE",
+        "todolist.replicas.read-your-writes=PT1M"})
+class TaskReplicaReadsTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        onNewThread(() -> taskService.deleteAllTasks());
+    }
+
+    @Test
+    void uncachedListsAndTheExportReadAReplica() {
+        // Written by another thread, so this one is not a writer
+        onNewThread(() -> taskRepository.saveAll(List.of(
+                new Task("Buy milk", null, null, "Home"), new Task("Walk the dog", null, null, "Home"))));
+
+        double replicaReads = replicaConnections();
+        assertEquals(1, taskService.findTasks(TaskFilter.NONE.withKeyword("milk"), TaskSort.DEFAULT, null, null)
+                .getItems().size());
+        // Nothing to look up in the search index: a LIKE scan
+        assertEquals(2, taskService.searchTasks("%").size());
+        taskService.exportTasksToJson(new ByteArrayOutputStream());
+        assertEquals(replicaReads + 3, replicaConnections());
+
+        // Cached reads stay on the primary
+        taskService.findTasks(TaskFilter.NONE.withProject("Home"), TaskSort.DEFAULT, null, null);
+        assertEquals(replicaReads + 3, replicaConnections());
+    }
+
+    @Test
+    void writersReadThePrimary() {
+        // A thread of its own, as it stays marked as a writer for the read-your-writes window
+        onNewThread(() -> {
+            TaskDTO dto = new TaskDTO();
+            dto.setTitle("Buy milk");
+            taskService.saveTask(dto);
+
+            double replicaReads = replicaConnections();
+            assertEquals(1, taskService.findTasks(TaskFilter.NONE.withKeyword("milk"), TaskSort.DEFAULT, null, null)
+                    .getItems().size());
+            taskService.exportTasksToJson(new ByteArrayOutputStream());
+            assertEquals(replicaReads, replicaConnections());
+        });
+    }
+
+    private static void onNewThread(Runnable action) {
+        CompletableFuture.runAsync(action, runnable -> new Thread(runnable).start()).join();
+    }
+
+    private double replicaConnections() {
+        return meterRegistry.get("todolist.datasource.connections").tag("target", "replica").functionCounter().count();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.todolist.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The timing advice must not allocate per call: a proxy with it allocates no more than a proxy with a no-op advice
+ */
+class ServiceMetricsInterceptorTest {
+
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 1_000_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void timedCallAllocatesNothingExtra() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        // Same histogram setup as production (management.metrics.distribution.percentiles-histogram)
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+
+        LongUnaryOperator plain = proxy((MethodInterceptor) MethodInvocation::proceed);
+        LongUnaryOperator timed = proxy(new ServiceMetricsInterceptor(() -> registry));
+
+        long plainBytes = allocatedBytes(plain);
+        long timedBytes = allocatedBytes(timed);
+
+        double extraPerCall = (double) (timedBytes - plainBytes) / MEASURED_CALLS;
+        assertTrue(extraPerCall < 1.0,
+                "Timing allocated " + extraPerCall + " extra bytes per call (" + timedBytes + " vs " + plainBytes + ")");
+
+        Timer timer = registry.get(ServiceMetricsInterceptor.METRIC_NAME).tag("method", "applyAsLong").tag("outcome", "success").timer();
+        assertEquals(WARMUP_CALLS + MEASURED_CALLS, timer.count());
+    }
+
+    private static LongUnaryOperator proxy(MethodInterceptor advice) {
+        ProxyFactory factory = new ProxyFactory((LongUnaryOperator) value -> value + 1);
+        factory.addAdvice(advice);
+        return (LongUnaryOperator) factory.getProxy();
+    }
+
+    private long allocatedBytes(LongUnaryOperator operator) {
+        long sum = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sum += operator.applyAsLong(i);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sum += operator.applyAsLong(i);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(sum > 0);
+        return allocated;
+    }
+}
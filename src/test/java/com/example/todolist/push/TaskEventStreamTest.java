@@ -0,0 +1,248 @@
+package com.example.todolist.push;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.model.TaskStats;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Committed task changes reach connected streams with fresh statistics; slow and stalled subscribers are evicted
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventStream taskEventStream;
+
+    @AfterEach
+    void cleanUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void writesArePushedToSubscribers() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/tasks/events")).andExpect(request().asyncStarted()).andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+        await(() -> content(response).contains("event:stats"));
+        assertEquals(1, taskEventStream.getSubscriberCount());
+
+        Task task = taskService.saveTask(new TaskDTO(new Task("Pushed task", null, LocalDate.now().plusDays(1), "Live")));
+        taskService.toggleTaskCompletion(task.getId());
+        taskService.deleteTask(task.getId());
+
+        await(() -> content(response).contains("\"type\":\"deleted\""));
+        String events = content(response);
+        assertTrue(events.contains("\"type\":\"created\",\"id\":" + task.getId()), events);
+        assertTrue(events.contains("\"type\":\"toggled\",\"id\":" + task.getId()), events);
+        assertTrue(events.contains("\"title\":\"Pushed task\""), events);
+        // The last statistics frame already counts the delete
+        String lastStats = events.substring(events.lastIndexOf("event:stats"));
+        assertTrue(lastStats.contains("\"total\":" + taskRepository.count()), events);
+    }
+
+    @Test
+    void slowSubscriberIsEvictedAndLimitIsEnforced() throws Exception {
+        ParkedExecutor sender = new ParkedExecutor();
+        TaskEventStream stream = new TaskEventStream(() -> new TaskStats(0, 0, 0, 0), new ObjectMapper(),
+                4, 1, sender, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        try {
+            assertNotNull(stream.subscribe());
+            assertNull(stream.subscribe(), "Subscriber limit");
+
+            // Nothing is written: the initial frame plus three changes fill the buffer, the next one overflows it
+            for (int i = 0; i < 4; i++) {
+                stream.onTaskChanged(TaskChangedEvent.bulk(TaskChangedEvent.Type.BULK_UPDATED));
+            }
+            await(() -> stream.getSubscriberCount() == 0);
+
+            assertNotNull(stream.subscribe(), "The evicted subscriber's slot is free again");
+        } finally {
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    void blockedClientDoesNotHoldUpTheOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+        ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        TaskEventStream stream = new TaskEventStream(() -> new TaskStats(0, 0, 0, 0), new ObjectMapper(),
+                4, 10, sender, Duration.ofMinutes(1), Duration.ofMillis(100)) {
+            @Override
+            SseEmitter newEmitter() {
+                // The first client stops reading: its writes block until released
+                RecordingEmitter emitter = new RecordingEmitter(emitters.isEmpty() ? unblock : null);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        try {
+            stream.subscribe();
+            RecordingEmitter stuck = emitters.get(0);
+            await(() -> stuck.writing);
+            // The only sender thread is stuck, so this client's first frame waits behind it
+            stream.subscribe();
+            RecordingEmitter healthy = emitters.get(1);
+
+            await(() -> {
+                stream.evictStalled();
+                return healthy.frames.size() == 1;
+            });
+            assertEquals(1, stream.getSubscriberCount());
+            assertEquals(2, sender.getCorePoolSize());
+
+            stream.onTaskChanged(TaskChangedEvent.bulk(TaskChangedEvent.Type.BULK_UPDATED));
+            await(() -> healthy.frames.stream().anyMatch(frame -> frame.contains("event:task")));
+            assertEquals(List.of(), stuck.frames);
+
+            // Once the stuck write returns, its stream is completed and the extra thread goes
+            unblock.countDown();
+            await(() -> stuck.completed && sender.getCorePoolSize() == 1);
+            assertFalse(healthy.completed);
+        } finally {
+            unblock.countDown();
+            stream.shutdown();
+        }
+    }
+
+    private static String content(MockHttpServletResponse response) {
+        try {
+            return response.getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Records the frames written to it instead of writing them to a response; optionally blocks each write
+     * until the latch is released, like a client whose socket is full
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch blockedUntil;
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private volatile boolean writing;
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch blockedUntil) {
+            this.blockedUntil = blockedUntil;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) throws IOException {
+            if (blockedUntil != null) {
+                writing = true;
+                try {
+                    blockedUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+                // The client never read it
+                return;
+            }
+            frames.add(frame.stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Accepts sends but never runs them, like a client that stopped reading
+     */
+    private static class ParkedExecutor extends AbstractExecutorService {
+
+        private final List<Runnable> parked = new ArrayList<>();
+        private volatile boolean shutdown;
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            parked.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return parked;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todolist.reactive;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.model.TaskStats;
+import com.example.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The R2DBC queries return the same rows in the same order as their JPA counterparts
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class ReactiveTaskServiceTest {
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void createTasks() {
+        LocalDate today = LocalDate.now();
+        Task overdue = new Task("Overdue report", "x".repeat(500), today.minusDays(2), "Alpha");
+        overdue.setPriority(Task.Priority.HIGH);
+        Task done = new Task("Done", "Write the report", today.minusDays(1), "Beta");
+        done.setCompleted(true);
+        Task undated = new Task("Undated", null, null, null);
+        undated.setPriority(Task.Priority.LOW);
+        taskRepository.saveAll(List.of(overdue, done, undated,
+                new Task("Later", null, today.plusDays(3), "alpha"),
+                new Task("Same day", null, today.plusDays(3), "Gamma")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void queriesMatchTheJpaRepository() {
+        LocalDate today = LocalDate.now();
+        assertEquals(ids(taskRepository.findRowsByCompleted(false)), ids(find(null, null, "pending", null)));
+        assertEquals(ids(taskRepository.findRowsByCompleted(true)), ids(find(null, null, "completed", null)));
+        assertEquals(ids(taskRepository.findRowsByProject("ALPHA")), ids(find(null, "ALPHA", null, null)));
+        assertEquals(ids(taskRepository.findOverdueRows(today)), ids(find(null, null, "overdue", null)));
+        // The JPQL search has no order; the SQL one orders by ID
+        assertEquals(ids(taskRepository.searchRowsByKeyword("REPORT")).stream().sorted().toList(),
+                ids(find("REPORT", null, null, null)));
+        for (TaskSort sort : TaskSort.values()) {
+            assertEquals(ids(taskRepository.findRowPage(sort, null, 100)), ids(find(null, null, null, sort)), sort.name());
+        }
+
+        TaskRow row = find(null, null, "overdue", null).get(0);
+        assertEquals(Task.Priority.HIGH, row.getPriority());
+        assertTrue(row.isDescriptionTruncated());
+        assertEquals(new TaskStats(5, 1, 4, 1), reactiveTaskService.getStats().block());
+    }
+
+    @Test
+    void listsStreamAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks?sort=priority&limit=2").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(2, body.lines().count());
+
+        MvcResult stats = mockMvc.perform(get("/api/v2/tasks/stats")).andReturn();
+        mockMvc.perform(asyncDispatch(stats))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5));
+    }
+
+    private List<TaskRow> find(String search, String project, String filter, TaskSort sort) {
+        return reactiveTaskService.findTasks(search, project, filter, sort == null ? TaskSort.DEFAULT : sort)
+                .collectList().block();
+    }
+
+    private static List<Long> ids(List<TaskRow> rows) {
+        return rows.stream().map(TaskRow::getId).toList();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.todolist.readmodel;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The columnar read model answers the list views like the queries it replaces and follows every write
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+                    properties = "todolist.read-model.enabled=true")
+class TaskReadModelTest {
+
+    @Autowired
+    private TaskReadModel readModel;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void createTasks() {
+        LocalDate today = LocalDate.now();
+        Task overdue = task("Overdue", today.minusDays(3), "Alpha", Task.Priority.HIGH);
+        Task done = task("Done", today.minusDays(1), "Beta", Task.Priority.LOW);
+        done.setCompleted(true);
+        Task later = task("Later", today.plusDays(5), "alpha", Task.Priority.MEDIUM);
+        Task undated = task("Undated", null, null, null);
+        Task soon = task("Soon", today.plusDays(1), "", Task.Priority.HIGH);
+        taskRepository.saveAll(List.of(overdue, done, later, undated, soon));
+        readModel.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void filtersMatchTheDatabaseQueries() {
+        assertTrue(readModel.isReady());
+        assertEquals(rowIds(taskRepository.findRowsByCompleted(false)), readModel.findIdsByStatus(false));
+        assertEquals(rowIds(taskRepository.findRowsByCompleted(true)), readModel.findIdsByStatus(true));
+        assertEquals(rowIds(taskRepository.findRowsByProject("ALPHA")), readModel.findIdsByProject("ALPHA"));
+        assertEquals(List.of(), readModel.findIdsByProject("Gamma"));
+    }
+
+    @Test
+    void sortsMatchTheDatabaseOrder() {
+        assertEquals(values(taskRepository.findAllOrderByDueDateAsc(), Task::getDueDate),
+                values(taskRepository.findAllByIdInOrder(readModel.findIdsSortedByDate(true)), Task::getDueDate));
+        assertEquals(values(taskRepository.findAllOrderByDueDateDesc(), Task::getDueDate),
+                values(taskRepository.findAllByIdInOrder(readModel.findIdsSortedByDate(false)), Task::getDueDate));
+        assertEquals(values(taskRepository.findAllOrderByProjectAsc(), Task::getProject),
+                values(taskRepository.findAllByIdInOrder(readModel.findIdsSortedByProject()), Task::getProject));
+        assertEquals(values(taskRepository.findAllOrderByPriorityDesc(), Task::getPriority),
+                values(taskRepository.findAllByIdInOrder(readModel.findIdsSortedByPriority()), Task::getPriority));
+        assertEquals(values(taskRepository.findAllOrderByCreatedAtDesc(), Task::getCreatedAt),
+                values(taskRepository.findAllByIdInOrder(readModel.findIdsSortedByCreated()), Task::getCreatedAt));
+    }
+
+    @Test
+    void taskPagesMatchTheDatabasePages() {
+        List<TaskFilter> filters = List.of(TaskFilter.NONE, TaskFilter.NONE.withCompleted(false),
+                TaskFilter.NONE.withProject("ALPHA"), TaskFilter.NONE.withPriority(Task.Priority.HIGH),
+                TaskFilter.NONE.withProject("Gamma"));
+        for (TaskFilter filter : filters) {
+            for (TaskSort sort : TaskSort.values()) {
+                List<Long> paged = new ArrayList<>();
+                String cursor = null;
+                do {
+                    TaskPage<TaskRow> page = taskService.findTasks(filter, sort, cursor, 2);
+                    paged.addAll(rowIds(page.getItems()));
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+
+                assertEquals(rowIds(taskRepository.findRowPage(filter, sort, null, 100)), paged, filter + " " + sort);
+            }
+        }
+    }
+
+    @Test
+    void pagesResumeAfterAProjectThatIsGone() {
+        TaskColumns columns = new TaskColumns(0);
+        columns.put(1, null, Task.Priority.LOW, false, "Alpha", LocalDateTime.of(2025, 1, 1, 0, 0));
+        columns.put(2, null, Task.Priority.LOW, false, "gamma", LocalDateTime.of(2025, 1, 1, 0, 0));
+        columns.put(3, null, Task.Priority.LOW, false, null, LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        TaskCursor afterBeta = new TaskCursor(TaskSort.PROJECT, new Object[] {"Beta", null, 99L});
+
+        assertEquals(List.of(3L, 1L, 2L), boxed(columns.pageIds(null, null, null, TaskSort.PROJECT, null, 10)));
+        assertEquals(List.of(2L), boxed(columns.pageIds(null, null, null, TaskSort.PROJECT, afterBeta, 10)));
+    }
+
+    @Test
+    void followsServiceWrites() {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle("New");
+        dto.setProject("Gamma");
+        dto.setDueDate(LocalDate.now().minusDays(1));
+        Task created = taskService.saveTask(dto);
+        assertEquals(List.of(created.getId()), readModel.findIdsByProject("gamma"));
+        assertTrue(readModel.findIdsByStatus(false).contains(created.getId()));
+
+        taskService.toggleTaskCompletion(created.getId());
+        assertFalse(readModel.findIdsByStatus(false).contains(created.getId()));
+        assertTrue(readModel.findIdsByStatus(true).contains(created.getId()));
+
+        taskService.deleteTask(created.getId());
+        assertEquals(List.of(), readModel.findIdsByProject("gamma"));
+        assertEquals(5, readModel.size());
+
+        // Bulk changes reload the columns
+        taskService.markAllTasksAsCompleted();
+        assertEquals(List.of(), readModel.findIdsByStatus(false));
+        assertEquals(rowIds(taskService.getTasksByStatus(true)), readModel.findIdsByStatus(true));
+    }
+
+    @Test
+    void largeSortsRunInParallelAndStayOrdered() {
+        Random random = new Random(42);
+        int count = SlotSort.PARALLEL_THRESHOLD * 4;
+        TaskColumns columns = new TaskColumns(0);
+        Map<Long, LocalDate> dueDates = new HashMap<>();
+        Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (long id = 1; id <= count; id++) {
+            LocalDate dueDate = random.nextInt(10) == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(random.nextInt(400));
+            LocalDateTime created = start.plusSeconds(random.nextInt(1_000_000));
+            columns.put(id, dueDate, Task.Priority.values()[random.nextInt(3)], random.nextBoolean(), "P" + (id % 7), created);
+            dueDates.put(id, dueDate);
+            createdAt.put(id, created);
+        }
+        for (long id = 1; id <= count; id += 10) {
+            columns.remove(id);
+        }
+
+        long[] ordered = columns.idsByDueDate(true);
+        assertEquals(columns.size(), ordered.length);
+        for (int i = 1; i < ordered.length; i++) {
+            LocalDate previous = dueDates.get(ordered[i - 1]);
+            LocalDate current = dueDates.get(ordered[i]);
+            assertTrue(previous == null || (current != null && !previous.isAfter(current)), "due date order at " + i);
+            if (Objects.equals(previous, current)) {
+                assertFalse(createdAt.get(ordered[i - 1]).isAfter(createdAt.get(ordered[i])), "creation order at " + i);
+            }
+        }
+
+        long[] pending = columns.idsByStatus(false);
+        for (int i = 1; i < pending.length; i++) {
+            assertTrue(pending[i - 1] < pending[i]);
+            assertTrue(pending[i] % 10 != 1);
+        }
+    }
+
+    private static List<Long> boxed(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private static Task task(String title, LocalDate dueDate, String project, Task.Priority priority) {
+        Task task = new Task(title, null, dueDate, project);
+        task.setPriority(priority);
+        return task;
+    }
+
+    private static List<Long> rowIds(List<TaskRow> rows) {
+        return rows.stream().map(TaskRow::getId).toList();
+    }
+
+    private static <T> List<T> values(List<Task> tasks, Function<Task, T> column) {
+        return tasks.stream().map(column).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.todolist.reminder;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import com.example.todolist.model.Task;
+import com.example.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reminders fire lead-time before the due date, follow task changes and survive a restart
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class ReminderSchedulerTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path stateDir;
+
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2025, 3, 10, 9, 0));
+    private final List<TaskReminder> reminders = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void firesFollowsChangesAndResumesAfterRestart() {
+        Task dueSoon = taskRepository.save(new Task("Due soon", null, LocalDate.of(2025, 3, 12), null));
+        Task farAway = taskRepository.save(new Task("Far away", null, LocalDate.of(2025, 3, 30), null));
+        Task done = new Task("Done", null, LocalDate.of(2025, 3, 12), null);
+        done.setCompleted(true);
+        taskRepository.save(done);
+
+        ReminderScheduler scheduler = newScheduler();
+        scheduler.start();
+        // Only the pending task within the horizon is held
+        assertEquals(1, scheduler.getScheduledCount());
+
+        clock.set(LocalDateTime.of(2025, 3, 10, 23, 59));
+        scheduler.tick();
+        assertEquals(List.of(), reminders);
+
+        clock.set(LocalDateTime.of(2025, 3, 11, 0, 1));
+        scheduler.tick();
+        assertEquals(List.of(dueSoon.getId()), reminders.stream().map(TaskReminder::taskId).toList());
+        assertEquals(Instant.parse("2025-03-11T00:00:00Z"), reminders.get(0).remindAt());
+
+        // Moved into the horizon: scheduled from the change event
+        TaskSnapshot before = TaskSnapshot.of(farAway);
+        farAway.setDueDate(LocalDate.of(2025, 3, 13));
+        taskRepository.save(farAway);
+        scheduler.onTaskChanged(TaskChangedEvent.updated(before, TaskSnapshot.of(farAway)));
+        assertEquals(1, scheduler.getScheduledCount());
+
+        // Down over the reminder time; the new instance resumes from the saved position and catches up
+        reminders.clear();
+        clock.set(LocalDateTime.of(2025, 3, 12, 6, 0));
+        ReminderScheduler restarted = newScheduler();
+        restarted.start();
+        restarted.tick();
+        assertEquals(List.of(farAway.getId()), reminders.stream().map(TaskReminder::taskId).toList());
+    }
+
+    @Test
+    void completingATaskCancelsItsReminder() {
+        Task task = taskRepository.save(new Task("Task", null, LocalDate.of(2025, 3, 12), null));
+        ReminderScheduler scheduler = newScheduler();
+        scheduler.start();
+        assertEquals(1, scheduler.getScheduledCount());
+
+        TaskSnapshot before = TaskSnapshot.of(task);
+        task.setCompleted(true);
+        taskRepository.save(task);
+        scheduler.onTaskChanged(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+        assertEquals(0, scheduler.getScheduledCount());
+
+        clock.set(LocalDateTime.of(2025, 3, 11, 12, 0));
+        scheduler.tick();
+        assertEquals(List.of(), reminders);
+    }
+
+    private ReminderScheduler newScheduler() {
+        return new ReminderScheduler(taskRepository, transactionManager, clock, reminders::add,
+                Duration.ofMinutes(1), Duration.ofHours(24), 7, 1000, stateDir.resolve("reminders.position"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
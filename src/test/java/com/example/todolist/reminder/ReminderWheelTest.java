@@ -0,0 +1,103 @@
+package com.example.todolist.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reminders fire on their tick whichever level they start on, once, and cancelled ones never
+ */
+class ReminderWheelTest {
+
+    @Test
+    void firesOnTheDeadlineTickFromEveryLevel() {
+        long start = 1_000_003;
+        ReminderWheel wheel = new ReminderWheel(start);
+        long[] deadlines = {start - 5, start, start + 1, start + 63, start + 64 * 3 + 5, start + 64 * 64 * 2 + 7,
+                start + 64L * 64 * 64 + 11};
+        for (int id = 0; id < deadlines.length; id++) {
+            wheel.schedule(id, deadlines[id]);
+        }
+
+        long[] firedAt = new long[deadlines.length];
+        long end = start + 64L * 64 * 64 + 20;
+        for (long tick = start; tick <= end; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, id -> firedAt[(int) id] = now);
+        }
+
+        // Passed deadlines fire on the first advance
+        assertEquals(start, firedAt[0]);
+        assertEquals(start, firedAt[1]);
+        for (int id = 2; id < deadlines.length; id++) {
+            assertEquals(deadlines[id], firedAt[id], "reminder " + id);
+        }
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.pairCount());
+    }
+
+    @Test
+    void cancelledAndRescheduledRemindersFireOnce() {
+        ReminderWheel wheel = new ReminderWheel(0);
+        wheel.schedule(1, 10);
+        wheel.schedule(2, 10);
+        wheel.schedule(3, 5000);
+        assertTrue(wheel.cancel(2));
+        assertFalse(wheel.cancel(2));
+        wheel.schedule(3, 20);
+        wheel.schedule(1, 10);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(10_000, fired::add);
+
+        assertEquals(List.of(1L, 3L), fired);
+    }
+
+    @Test
+    void holdsAMillionRemindersWithBoundedGarbage() {
+        int count = 1_000_000;
+        int weekOfMinutes = 7 * 24 * 60;
+        Random random = new Random(7);
+        ReminderWheel wheel = new ReminderWheel(0);
+        for (long id = 1; id <= count; id++) {
+            wheel.schedule(id, 1 + random.nextInt(weekOfMinutes));
+        }
+        for (long id = 2; id <= count; id += 2) {
+            wheel.cancel(id);
+        }
+        assertEquals(count / 2, wheel.size());
+        // Compaction keeps the dropped pairs from piling up
+        assertTrue(wheel.pairCount() <= 2L * wheel.size() + 1024);
+
+        BitSet fired = new BitSet(count + 1);
+        wheel.advanceTo(weekOfMinutes, id -> {
+            assertFalse(fired.get((int) id), "fired twice: " + id);
+            fired.set((int) id);
+        });
+        assertEquals(count / 2, fired.cardinality());
+        assertTrue(fired.get(1));
+        assertFalse(fired.get(2));
+    }
+
+    @Test
+    void mapSurvivesRemovalsInsideProbeRuns() {
+        LongLongMap map = new LongLongMap();
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key * 1024, key);
+        }
+        for (long key = 0; key < 10_000; key += 3) {
+            assertEquals(key, map.remove(key * 1024));
+        }
+        for (long key = 0; key < 10_000; key++) {
+            assertEquals(key % 3 == 0 ? LongLongMap.MISSING : key, map.get(key * 1024));
+        }
+        assertEquals(10_000 - 3334, map.size());
+    }
+}
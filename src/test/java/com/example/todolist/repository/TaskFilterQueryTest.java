@@ -0,0 +1,139 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Filter criteria combine with each other, with every sort and with keyset paging
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskFilterQueryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void createTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Task task = new Task("Task " + i, i % 5 == 0 ? "Needs milk" : null, today.plusDays(i % 20 - 5),
+                    i % 2 == 0 ? "Home" : "Work");
+            task.setCompleted(i % 3 == 0);
+            task.setPriority(Task.Priority.values()[i % 3]);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void pendingTasksOfOneProjectByPriority() {
+        // Project names match in any case
+        TaskFilter filter = TaskFilter.NONE.withCompleted(false).withProject("HOME");
+
+        List<TaskRow> rows = taskRepository.findRowPage(filter, TaskSort.PRIORITY, null, 100);
+
+        assertTrue(rows.size() > 0);
+        assertEquals(expected(filter).size(), rows.size());
+        assertTrue(rows.stream().allMatch(row -> !row.isCompleted() && row.getProject().equals("Home")));
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i - 1).getPriority().compareTo(rows.get(i).getPriority()) >= 0, "Highest priority first");
+        }
+    }
+
+    @Test
+    void everyCriterionNarrowsTheResult() {
+        TaskFilter filter = TaskFilter.NONE
+                .withDueWindow(today, today.plusDays(7))
+                .withPriority(Task.Priority.HIGH)
+                .withKeyword("MILK");
+
+        List<TaskRow> rows = taskRepository.findRowPage(filter, TaskSort.DATE_ASC, null, 100);
+
+        assertEquals(expected(filter).size(), rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getPriority() == Task.Priority.HIGH
+                && !row.getDueDate().isBefore(today) && !row.getDueDate().isAfter(today.plusDays(7))));
+        assertEquals(expected(TaskFilter.NONE.withOverdue(true)).size(),
+                taskRepository.findRowPage(TaskFilter.NONE.withOverdue(true), TaskSort.DEFAULT, null, 100).size());
+    }
+
+    @Test
+    void filteredPagesResumeFromTheCursor() {
+        TaskFilter filter = TaskFilter.NONE.withProject("Work").withDueWindow(today.minusDays(2), null);
+        List<Long> paged = new ArrayList<>();
+        TaskCursor cursor = null;
+        do {
+            List<TaskRow> page = taskRepository.findRowPage(filter, TaskSort.DATE_DESC, cursor, 4);
+            page.forEach(row -> paged.add(row.getId()));
+            cursor = page.size() < 4 ? null : TaskCursor.after(TaskSort.DATE_DESC, page.get(page.size() - 1));
+        } while (cursor != null);
+
+        List<Long> all = taskRepository.findRowPage(filter, TaskSort.DATE_DESC, null, 100).stream()
+                .map(TaskRow::getId).toList();
+        assertEquals(all, paged);
+        assertEquals(expected(filter).size(), all.size());
+    }
+
+    @Test
+    void idRestrictionReplacesTheKeyword() {
+        List<Long> ids = taskRepository.findAll(TaskFilter.NONE.withProject("Home"), TaskSort.DEFAULT).stream()
+                .map(Task::getId).limit(5).toList();
+
+        TaskFilter filter = TaskFilter.NONE.withIds(ids).withCompleted(false);
+
+        assertEquals(expected(filter).size(), taskRepository.findRowPage(filter, TaskSort.CREATED, null, 100).size());
+        assertEquals(0, taskRepository.findRowPage(TaskFilter.NONE.withIds(List.of()), TaskSort.DEFAULT, null, 100).size());
+    }
+
+    @Test
+    void projectCompletionMatchesTheProjectLikeTheFilter() {
+        TaskFilter pendingHome = TaskFilter.NONE.withProject("Home").withCompleted(false);
+        int pending = expected(pendingHome).size();
+        assertTrue(pending > 0);
+
+        assertEquals(pending, taskService.markProjectTasksAsCompleted("hOME"));
+        assertEquals(0, taskRepository.findRowPage(pendingHome, TaskSort.DEFAULT, null, 100).size());
+    }
+
+    // The same filter evaluated in memory over all tasks
+    private List<Task> expected(TaskFilter filter) {
+        return taskRepository.findAll().stream()
+                .filter(task -> filter.completed() == null || task.isCompleted() == filter.completed())
+                .filter(task -> !filter.overdue() || (!task.isCompleted() && task.getDueDate().isBefore(today)))
+                .filter(task -> filter.project() == null || filter.project().equalsIgnoreCase(task.getProject()))
+                .filter(task -> filter.dueFrom() == null || !task.getDueDate().isBefore(filter.dueFrom()))
+                .filter(task -> filter.dueTo() == null || !task.getDueDate().isAfter(filter.dueTo()))
+                .filter(task -> filter.priority() == null || task.getPriority() == filter.priority())
+                .filter(task -> filter.ids() == null || filter.ids().contains(task.getId()))
+                .filter(task -> filter.keyword() == null || (task.getDescription() != null
+                        && task.getDescription().toLowerCase().contains(filter.keyword().toLowerCase())))
+                .toList();
+    }
+}
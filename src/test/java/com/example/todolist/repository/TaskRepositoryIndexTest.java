@@ -0,0 +1,136 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskCursor;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the query plans of the main repository access paths and the numeric priority order.
+ * The plans are those of the statements Hibernate issues for the repository calls, captured
+ * with a StatementInspector.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(TaskRepositoryIndexTest.StatementCapture.class)
+class TaskRepositoryIndexTest {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void createTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task("Task " + i, null, today.plusDays(i % 30 - 10), "Project " + (i % 10));
+            task.setCompleted(i % 3 == 0);
+            task.setPriority(Task.Priority.values()[i % 3]);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void priorityOrderIsHighMediumLow() {
+        List<Task> tasks = taskRepository.findAllOrderByPriorityDesc();
+
+        assertEquals(Task.Priority.HIGH, tasks.get(0).getPriority());
+        assertEquals(Task.Priority.LOW, tasks.get(tasks.size() - 1).getPriority());
+    }
+
+    @Test
+    void statusQueriesUseCompletedDueDateIndex() {
+        assertUsesIndex("IDX_TASKS_COMPLETED_DUE_DATE", () -> taskRepository.findRowsByCompleted(false));
+        assertUsesIndex("IDX_TASKS_COMPLETED_DUE_DATE", () -> taskRepository.findOverdueRows(today));
+        assertUsesIndex("IDX_TASKS_COMPLETED_DUE_DATE", () -> taskRepository.countOverdueTasks(today));
+        assertUsesIndex("IDX_TASKS_COMPLETED_DUE_DATE", () ->
+                taskRepository.findRowPage(TaskFilter.NONE.withOverdue(true), TaskSort.DEFAULT, null, 20));
+    }
+
+    @Test
+    void projectQueriesUseTheCompositeIndexes() {
+        // The project-sorted list reads the index in order
+        assertUsesIndex("IDX_TASKS_PROJECT_DUE_DATE", () -> taskRepository.findAllOrderByProjectAsc());
+        // The project filter, in any case through the column collation
+        assertUsesIndex("IDX_TASKS_PROJECT_DUE_DATE", () -> taskRepository.findRowPage(
+                TaskFilter.NONE.withProject("project 1"), TaskSort.DEFAULT, null, 20));
+        // Either composite index serves this one; the planner picks by selectivity
+        assertUsesIndex("IDX_TASKS_", () -> taskRepository.findRowPage(
+                TaskFilter.NONE.withProject("project 1").withCompleted(true), TaskSort.DEFAULT, null, 20));
+    }
+
+    @Test
+    void priorityAndCreatedQueriesUseTheirIndexes() {
+        assertUsesIndex("IDX_TASKS_PRIORITY_DUE_DATE", () -> taskRepository.findRowPage(
+                TaskFilter.NONE.withPriority(Task.Priority.HIGH).withDueWindow(today, null), TaskSort.DEFAULT, null, 20));
+        // A later page of the newest-first list
+        TaskRow last = taskRepository.findRowPage(TaskFilter.NONE, TaskSort.CREATED, null, 20).get(19);
+        assertUsesIndex("IDX_TASKS_CREATED_AT", () -> taskRepository.findRowPage(
+                TaskFilter.NONE, TaskSort.CREATED, TaskCursor.after(TaskSort.CREATED, last), 20));
+    }
+
+    /**
+     * Runs the repository call, which must issue one SELECT, and checks the plan of that SELECT.
+     * The plan does not depend on the parameter values, so they are bound as NULL.
+     */
+    private void assertUsesIndex(String index, Runnable repositoryCall) {
+        statements.clear();
+        repositoryCall.run();
+        List<String> selects = statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertEquals(1, selects.size(), "Expected one SELECT, got " + selects);
+
+        String sql = selects.get(0);
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        assertTrue(plan.contains(index) && !plan.contains("tableScan"), "Expected " + index + " in plan:\n" + plan);
+    }
+}
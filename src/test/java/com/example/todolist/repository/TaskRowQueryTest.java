@@ -0,0 +1,84 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * List rows are read without managed entities, with a cut description and precomputed flags
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskRowQueryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void createTasks() {
+        Task overdue = new Task("Overdue", "x".repeat(1000), LocalDate.now().minusDays(2), "Alpha");
+        Task done = new Task("Done", "Short description", LocalDate.now().minusDays(2), "Beta");
+        done.setCompleted(true);
+        taskRepository.saveAll(List.of(overdue, done, new Task("Later", null, LocalDate.now().plusDays(3), "alpha")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void rowQueriesLeaveThePersistenceContextEmpty() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            assertEquals(3, taskRepository.findRowPage(TaskSort.PRIORITY, null, 10).size());
+            assertEquals(2, taskRepository.findRowsByCompleted(false).size());
+            assertEquals(2, taskRepository.findRowsByProject("ALPHA").size());
+            assertEquals(1, taskRepository.findOverdueRows(LocalDate.now()).size());
+            assertEquals(1, taskRepository.searchRowsByKeyword("done").size());
+
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+    }
+
+    @Test
+    void rowsCarryPreviewAndFlags() {
+        List<TaskRow> rows = taskRepository.findRowPage(TaskSort.DEFAULT, null, 10);
+
+        TaskRow overdue = rows.get(0);
+        assertTrue(overdue.isDescriptionTruncated());
+        assertEquals(TaskRow.DESCRIPTION_PREVIEW_LENGTH + 1, overdue.getDescription().length());
+        assertTrue(overdue.isOverdue());
+        assertEquals("danger", overdue.getStatusClass());
+
+        TaskRow done = rows.get(1);
+        assertEquals("Short description", done.getDescription());
+        assertFalse(done.isDescriptionTruncated());
+        assertFalse(done.isOverdue());
+        assertEquals("Completed", done.getStatusText());
+    }
+}
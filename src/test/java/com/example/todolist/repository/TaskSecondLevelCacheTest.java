@@ -0,0 +1,91 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repeated entity and cacheable-query reads are answered by the second-level cache without JDBC
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskSecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        List<Task> newTasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            newTasks.add(new Task("Cached task " + i, null, LocalDate.now().plusDays(i), "Project " + (i % 4)));
+        }
+        tasks = taskRepository.saveAll(newTasks);
+
+        // Statistics are on (hibernate.generate_statistics) for the metrics endpoint
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findByIdIsServedFromSecondLevelCache() {
+        Long id = tasks.get(0).getId();
+        taskRepository.findById(id);
+
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(taskRepository.findById(id).isPresent());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(5, statistics.getDomainDataRegionStatistics(Task.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void sortedListIsServedFromQueryCache() {
+        taskRepository.findAllOrderByPriorityDesc();
+        taskRepository.findDistinctProjects();
+
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(tasks.size(), taskRepository.findAllOrderByPriorityDesc().size());
+            assertEquals(4, taskRepository.findDistinctProjects().size());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(10, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void writesInvalidateCachedQueries() {
+        taskRepository.findAllOrderByPriorityDesc();
+        taskRepository.save(new Task("Added later", null, null, "Project 9"));
+
+        assertEquals(tasks.size() + 1, taskRepository.findAllOrderByPriorityDesc().size());
+        assertEquals(5, taskRepository.findDistinctProjects().size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.todolist.service;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskBatchRequest;
+import com.example.todolist.model.TaskBatchRequest.Action;
+import com.example.todolist.model.TaskBatchRequest.Mode;
+import com.example.todolist.model.TaskBatchRequest.Operation;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mixed batches: JDBC-batched in one transaction, all-or-nothing or best effort, with per-operation results
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskBatchProcessorTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void cleanUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void createsAreSentAsJdbcBatches() {
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            operations.add(new Operation(Action.CREATE, null, null, dto("Batched " + i, "Batch")));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BatchResult result = taskService.applyBatch(new TaskBatchRequest(Mode.ATOMIC, operations));
+
+        assertTrue(result.isComplete(), result.toString());
+        assertEquals(200, taskRepository.count());
+        assertEquals(200, taskService.getTaskStats().total());
+        // 200 inserts in batches of 50 plus a few sequence calls, rather than 200 statements
+        assertTrue(statistics.getPrepareStatementCount() < 20, "Statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void atomicBatchIsRolledBackOnAnyFailure() {
+        Task existing = taskService.saveTask(dto("Existing", "Batch"));
+
+        BatchResult result = taskService.applyBatch(new TaskBatchRequest(Mode.ATOMIC, List.of(
+                new Operation(Action.CREATE, null, null, dto("Never stored", "Batch")),
+                new Operation(Action.TOGGLE, existing.getId(), null, null),
+                new Operation(Action.DELETE, existing.getId() + 1000, null, null))));
+
+        assertFalse(result.isCommitted());
+        assertEquals(BatchResult.Status.NOT_APPLIED, result.getItems().get(0).status());
+        assertEquals(BatchResult.Status.NOT_APPLIED, result.getItems().get(1).status());
+        assertEquals(BatchResult.Status.NOT_FOUND, result.getItems().get(2).status());
+        assertEquals(1, taskRepository.count());
+        assertFalse(taskRepository.findById(existing.getId()).orElseThrow().isCompleted());
+        assertEquals(1, taskService.getTaskStats().total());
+    }
+
+    @Test
+    void bestEffortBatchAppliesWhatItCan() {
+        Task toggled = taskService.saveTask(dto("Toggled", "Batch"));
+        Task deleted = taskService.saveTask(dto("Deleted", "Batch"));
+        Task stale = taskService.saveTask(dto("Stale", "Batch"));
+
+        BatchResult result = taskService.applyBatch(new TaskBatchRequest(Mode.BEST_EFFORT, List.of(
+                new Operation(Action.CREATE, null, null, dto("Created", "Batch")),
+                new Operation(Action.CREATE, null, null, dto("", "Batch")),
+                new Operation(Action.TOGGLE, toggled.getId(), null, null),
+                new Operation(Action.DELETE, deleted.getId(), null, null),
+                new Operation(Action.UPDATE, stale.getId(), stale.getVersion() + 1, dto("Overwritten", "Batch")))));
+
+        List<BatchResult.Status> statuses = result.getItems().stream().map(BatchResult.Item::status).toList();
+        assertEquals(List.of(BatchResult.Status.APPLIED, BatchResult.Status.INVALID, BatchResult.Status.APPLIED,
+                BatchResult.Status.APPLIED, BatchResult.Status.CONFLICT), statuses);
+        assertEquals(3, result.getAppliedCount());
+        assertEquals(2, result.getFailedCount());
+        assertTrue(taskRepository.findById(toggled.getId()).orElseThrow().isCompleted());
+        assertFalse(taskRepository.existsById(deleted.getId()));
+        assertEquals("Stale", taskRepository.findById(stale.getId()).orElseThrow().getTitle());
+        assertEquals(taskRepository.count(), taskService.getTaskStats().total());
+        assertEquals(1, taskService.getTaskStats().completed());
+    }
+
+    @Test
+    void endpointReportsEachOperation() throws Exception {
+        Task task = taskService.saveTask(dto("Via API", "Batch"));
+        String body = """
+                {"mode": "best_effort", "operations": [
+                  {"action": "create", "task": {"title": "From batch", "project": "Batch", "dueDate": "2030-01-01"}},
+                  {"action": "toggle", "id": %d},
+                  {"action": "delete", "id": -1}
+                ]}""".formatted(task.getId());
+
+        mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.appliedCount").value(2))
+                .andExpect(jsonPath("$.items[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$.items[1].version").value(task.getVersion() + 1))
+                .andExpect(jsonPath("$.items[2].status").value("NOT_FOUND"));
+
+        mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content("{\"operations\": []}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": [{\"action\": \"archive\", \"id\": 1}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static TaskDTO dto(String title, String project) {
+        return new TaskDTO(new Task(title, null, LocalDate.now().plusDays(3), project));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.todolist.service;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskDTO;
+import com.example.todolist.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent completion changes and edits: no lost updates, stale edits rejected, one UPDATE per toggle
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TOGGLES_PER_THREAD = 25;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Task task;
+
+    @BeforeEach
+    void createTask() {
+        task = taskRepository.save(new Task("Contended task", null, LocalDate.now().plusDays(1), "Stress"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentTogglesAreNeverLost() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < TOGGLES_PER_THREAD; i++) {
+                    try {
+                        taskService.toggleTaskCompletion(task.getId());
+                        applied.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+
+        // Every applied toggle flipped the task exactly once and bumped its version exactly once
+        Task result = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(applied.get() % 2 == 1, result.isCompleted());
+        assertEquals(task.getVersion() + applied.get(), result.getVersion());
+        // Unconditional toggles end with a row lock rather than giving up
+        assertEquals(0, conflicts.get());
+        assertEquals(THREADS * TOGGLES_PER_THREAD, applied.get());
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        Long seen = task.getVersion();
+        taskService.toggleTaskCompletion(task.getId(), seen);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.toggleTaskCompletion(task.getId(), seen));
+
+        TaskDTO staleEdit = new TaskDTO(task);
+        staleEdit.setTitle("Overwrites the toggle");
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.updateTask(task.getId(), staleEdit));
+        assertTrue(taskRepository.findById(task.getId()).orElseThrow().isCompleted());
+    }
+
+    @Test
+    void editsBasedOnTheStateBeforeABulkChangeConflict() {
+        TaskDTO beforeProjectChange = new TaskDTO(task);
+        beforeProjectChange.setTitle("Overwrites the bulk change");
+
+        taskService.markProjectTasksAsCompleted("Stress");
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> taskService.updateTask(task.getId(), beforeProjectChange));
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> taskService.toggleTaskCompletion(task.getId(), beforeProjectChange.getVersion()));
+
+        Task completed = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(task.getVersion() + 1, completed.getVersion());
+        TaskDTO beforeMarkAll = new TaskDTO(completed);
+        taskService.markAllTasksAsIncomplete();
+        assertEquals(task.getVersion() + 2, taskRepository.findById(task.getId()).orElseThrow().getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.updateTask(task.getId(), beforeMarkAll));
+    }
+
+    @Test
+    void toggleIsOneStatementOnceTheTaskIsCached() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        taskService.toggleTaskCompletion(task.getId());
+
+        statistics.clear();
+        int toggles = 20;
+        for (int i = 0; i < toggles; i++) {
+            taskService.toggleTaskCompletion(task.getId());
+        }
+
+        // The read is a second-level cache hit; the versioned UPDATE is the only round trip
+        assertEquals(toggles, statistics.getPrepareStatementCount());
+        assertEquals(toggles, statistics.getEntityUpdateCount());
+    }
+}
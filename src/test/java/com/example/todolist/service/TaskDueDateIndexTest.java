@@ -0,0 +1,179 @@
+package com.example.todolist.service;
+
+import com.example.todolist.event.TaskChangedEvent;
+import com.example.todolist.event.TaskSnapshot;
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The due date wheel answers overdue and due-soon lookups and turns over at midnight without a rescan
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskDueDateIndexTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskDueDateIndex dueDateIndex;
+
+    @AfterEach
+    void cleanUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void servicePathsMatchTheRangeQueries() {
+        LocalDate today = LocalDate.now();
+        Task overdue = new Task("Overdue", null, today.minusDays(2), "Alpha");
+        Task dueToday = new Task("Today", null, today, "Alpha");
+        Task doneToday = new Task("Done today", null, today, "Beta");
+        doneToday.setCompleted(true);
+        Task soon = new Task("Soon", null, today.plusDays(3), null);
+        Task later = new Task("Later", null, today.plusDays(30), null);
+        taskRepository.saveAll(List.of(overdue, dueToday, doneToday, soon, later));
+        // Inserted behind the service's back, so load the index again
+        TaskDueDateIndex index = new TaskDueDateIndex(taskRepository, Clock.systemDefaultZone(), transactionManager);
+        index.reload();
+
+        assertEquals(List.of(overdue.getId()), index.findOverdueIds());
+        assertEquals(List.of(dueToday.getId(), doneToday.getId()), index.findIdsDueOn(today));
+        assertEquals(ids(taskRepository.findTasksDueWithinDays(today, today.plusDays(7))),
+                index.findPendingIdsDueBetween(today, today.plusDays(7)));
+    }
+
+    @Test
+    void taskPagesMatchTheDatabasePages() {
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Task task = new Task("Task " + i, null, i % 9 == 0 ? null : today.plusDays(i % 13 - 6), i % 2 == 0 ? "Home" : "Work");
+            task.setCompleted(i % 4 == 0);
+            task.setPriority(Task.Priority.values()[i % 3]);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        dueDateIndex.reload();
+
+        List<TaskFilter> filters = List.of(
+                TaskFilter.NONE.withOverdue(true),
+                TaskFilter.NONE.withOverdue(true).withProject("home"),
+                TaskFilter.NONE.withDueWindow(today, today.plusDays(3)),
+                TaskFilter.NONE.withDueWindow(today.plusDays(2), null).withCompleted(true),
+                TaskFilter.NONE.withDueWindow(today.minusDays(4), today.plusDays(1)).withCompleted(false),
+                TaskFilter.NONE.withDueWindow(null, today.minusDays(2)).withCompleted(false));
+        for (TaskFilter filter : filters) {
+            assertTrue(filter.overdue() || dueDateIndex.canFindDueBetween(filter.dueFrom(), Boolean.FALSE.equals(filter.completed())));
+            for (TaskSort sort : TaskSort.values()) {
+                List<Long> paged = new ArrayList<>();
+                String cursor = null;
+                do {
+                    TaskPage<TaskRow> page = taskService.findTasks(filter, sort, cursor, 3);
+                    page.getItems().forEach(row -> paged.add(row.getId()));
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+
+                List<Long> expected = taskRepository.findRowPage(filter, sort, null, 100).stream().map(TaskRow::getId).toList();
+                assertTrue(expected.size() > 0, filter.toString());
+                assertEquals(expected, paged, filter + " " + sort);
+            }
+        }
+        // Completed tasks due before today are not in the index
+        assertFalse(dueDateIndex.canFindDueBetween(today.minusDays(1), false));
+    }
+
+    @Test
+    void midnightMovesTheDayIntoOverdue() {
+        MutableClock clock = new MutableClock(LocalDate.of(2025, 3, 10));
+        TaskDueDateIndex index = new TaskDueDateIndex(taskRepository, clock, transactionManager);
+        index.reload();
+
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(1L, LocalDate.of(2025, 3, 10), false)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(2L, LocalDate.of(2025, 3, 10), true)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(3L, LocalDate.of(2025, 3, 11), false)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(4L, LocalDate.of(2025, 3, 9), false)));
+        assertEquals(List.of(4L), index.findOverdueIds());
+        assertEquals(List.of(1L, 2L), index.findIdsDueOn(LocalDate.of(2025, 3, 10)));
+
+        clock.setDate(LocalDate.of(2025, 3, 12));
+        assertEquals(LocalDate.of(2025, 3, 12), index.today());
+        assertEquals(List.of(1L, 3L, 4L), index.findOverdueIds());
+        assertEquals(List.of(), index.findIdsDueOn(LocalDate.of(2025, 3, 10)));
+
+        // Completing an overdue task and moving another into the future take them out of the overdue set
+        index.onTaskChanged(TaskChangedEvent.updated(snapshot(1L, LocalDate.of(2025, 3, 10), false),
+                snapshot(1L, LocalDate.of(2025, 3, 10), true)));
+        index.onTaskChanged(TaskChangedEvent.updated(snapshot(3L, LocalDate.of(2025, 3, 11), false),
+                snapshot(3L, LocalDate.of(2025, 3, 14), false)));
+        assertEquals(List.of(4L), index.findOverdueIds());
+        assertEquals(List.of(3L), index.findPendingIdsDueBetween(LocalDate.of(2025, 3, 12), LocalDate.of(2025, 3, 19)));
+
+        index.onTaskChanged(TaskChangedEvent.deleted(snapshot(4L, LocalDate.of(2025, 3, 9), false)));
+        assertEquals(List.of(), index.findOverdueIds());
+    }
+
+    private static TaskSnapshot snapshot(Long id, LocalDate dueDate, boolean completed) {
+        return new TaskSnapshot(id, "Task " + id, null, dueDate, null, Task.Priority.MEDIUM, completed, null, null);
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).sorted().toList();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atTime(9, 0).toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.todolist.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Import throughput, legacy path vs chunked engine.
+ * Run with: mvn -Pbenchmark test -Dbenchmark.import.rows=1000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TaskImportBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.import.rows", 100_000);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                entityManager.createQuery("DELETE FROM Task").executeUpdate());
+    }
+
+    @Test
+    @Order(1)
+    void legacyImport() throws IOException {
+        Path file = writeTaskFile(ROWS);
+        long started = System.nanoTime();
+
+        // Old behaviour: whole file as one String, one transaction, one INSERT round trip per row
+        // (IDENTITY IDs prevented batching, emulated here with a JDBC batch size of 1)
+        String json = Files.readString(file, StandardCharsets.UTF_8);
+        int imported = new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            return taskService.importTasksFromJson(json).size();
+        });
+
+        report("legacy (String + saveAll, unbatched)", imported, System.nanoTime() - started);
+        assertEquals(ROWS, imported);
+        Files.delete(file);
+    }
+
+    @Test
+    @Order(2)
+    void chunkedImport() throws IOException {
+        Path file = writeTaskFile(ROWS);
+        long started = System.nanoTime();
+
+        ImportResult result;
+        try (InputStream in = Files.newInputStream(file)) {
+            result = taskService.importTasks(in);
+        }
+
+        report("chunked (streaming parser, JDBC batches)", result.getImportedCount(), System.nanoTime() - started);
+        assertFalse(result.hasErrors(), result::toString);
+        assertEquals(ROWS, result.getImportedCount());
+        Files.delete(file);
+    }
+
+    private static void report(String label, long rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("[import benchmark] %-42s %,d rows in %.2f s = %,.0f rows/sec%n",
+                label, rows, seconds, rows / seconds);
+    }
+
+    private static Path writeTaskFile(int rows) throws IOException {
+        Path file = Files.createTempFile("tasks-benchmark", ".json");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        try (JsonGenerator json = new JsonFactory().createGenerator(Files.newOutputStream(file))) {
+            json.writeStartArray();
+            for (int i = 0; i < rows; i++) {
+                json.writeStartObject();
+                json.writeStringField("title", "Benchmark task " + i);
+                json.writeStringField("description", "Generated task number " + i + " used to measure import throughput");
+                json.writeStringField("dueDate", start.plusDays(i % 730).toString());
+                json.writeStringField("project", "Project " + (i % 20));
+                json.writeStringField("priority", i % 3 == 0 ? "HIGH" : i % 3 == 1 ? "MEDIUM" : "LOW");
+                json.writeBooleanField("completed", i % 4 == 0);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.todolist.service;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskFilter;
+import com.example.todolist.model.TaskPage;
+import com.example.todolist.model.TaskRow;
+import com.example.todolist.model.TaskSort;
+import com.example.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyword pages come from the search index even when more tasks match than one ID list holds
+ */
+@SpringBootTest
+// Its own database: another test context recreating the shared schema resets the ID sequence under this one
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:keywordpaging;IGNORECASE=TRUE")
+class TaskKeywordPagingTest {
+
+    private static final int MATCHES = TaskServiceImpl.ID_LIST_BATCH_SIZE + 300;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void createTasks() {
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < MATCHES; i++) {
+            // Every seventh task has the word in its title, which ranks it above the others
+            Task task = i % 7 == 0
+                    ? new Task("Buy milk " + i, null, today.plusDays(i % 30), i % 2 == 0 ? "Home" : "work")
+                    : new Task("Task " + i, "Needs milk", i % 11 == 0 ? null : today.plusDays(i % 30),
+                            i % 2 == 0 ? "home" : "Work");
+            task.setPriority(Task.Priority.values()[i % 3]);
+            tasks.add(task);
+        }
+        tasks.add(new Task("Unrelated", "Nothing to see", today, "Home"));
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void defaultSortPagesThroughEveryMatchBestFirst() {
+        List<TaskRow> rows = pageThrough(TaskFilter.NONE.withKeyword("milk"), TaskSort.DEFAULT);
+
+        assertEquals(MATCHES, rows.size());
+        assertEquals(MATCHES, new HashSet<>(rows.stream().map(TaskRow::getId).toList()).size());
+        int titleMatches = (MATCHES + 6) / 7;
+        assertTrue(rows.subList(0, titleMatches).stream().allMatch(row -> row.getTitle().startsWith("Buy milk")));
+    }
+
+    @Test
+    void otherCriteriaApplyToTheMatches() {
+        TaskFilter filter = TaskFilter.NONE.withKeyword("milk").withProject("HOME").withPriority(Task.Priority.HIGH);
+
+        List<TaskRow> rows = pageThrough(filter, TaskSort.DEFAULT);
+
+        assertEquals(expected(filter, TaskSort.DEFAULT).size(), rows.size());
+        assertTrue(rows.stream().allMatch(row -> "home".equalsIgnoreCase(row.getProject())
+                && row.getPriority() == Task.Priority.HIGH));
+    }
+
+    @Test
+    void sortedPagesMatchTheDatabaseOrder() {
+        for (TaskSort sort : List.of(TaskSort.PROJECT, TaskSort.PRIORITY, TaskSort.DATE_DESC)) {
+            TaskFilter filter = TaskFilter.NONE.withKeyword("milk");
+
+            List<Long> paged = pageThrough(filter, sort).stream().map(TaskRow::getId).toList();
+
+            assertEquals(expected(filter, sort), paged, sort.getParam());
+        }
+    }
+
+    private List<TaskRow> pageThrough(TaskFilter filter, TaskSort sort) {
+        List<TaskRow> rows = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage<TaskRow> page = taskService.findTasks(filter, sort, cursor, 97);
+            rows.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    // The keyword as a LIKE, which the database sorts itself
+    private List<Long> expected(TaskFilter filter, TaskSort sort) {
+        return taskRepository.findRowPage(filter, sort, null, MATCHES + 1).stream().map(TaskRow::getId).toList();
+    }
+}
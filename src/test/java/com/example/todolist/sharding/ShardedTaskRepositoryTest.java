@@ -0,0 +1,199 @@
+package com.example.todolist.sharding;
+
+import com.example.todolist.model.Task;
+import com.example.todolist.model.TaskSort;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tasks spread over three in-memory H2 shards: project queries stay on one shard, global queries
+ * merge all of them in order, and project changes move tasks between shards, even when interrupted
+ */
+class ShardedTaskRepositoryTest {
+
+    private static final int SHARDS = 3;
+    private static final int DEFAULT_SHARD = 1;
+
+    private final List<DataSource> dataSources = new ArrayList<>();
+    private ShardedTaskRepository repository;
+
+    @BeforeEach
+    void createShards() {
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < SHARDS; i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:shard-" + run + "-" + i);
+            dataSource.setMaximumPoolSize(4);
+            dataSources.add(dataSource);
+        }
+        repository = new ShardedTaskRepository(dataSources, DEFAULT_SHARD, Clock.systemDefaultZone());
+        repository.initializeSchema();
+    }
+
+    @AfterEach
+    void closeShards() {
+        repository.close();
+    }
+
+    @Test
+    void routingIsStableAndCaseInsensitive() {
+        ShardRouter router = repository.getRouter();
+        assertEquals(DEFAULT_SHARD, router.shardOf(null));
+        assertEquals(DEFAULT_SHARD, router.shardOf("  "));
+        assertEquals(router.shardOf("Alpha"), router.shardOf("ALPHA"));
+        assertEquals(router.shardOf("Alpha"), new ShardRouter(SHARDS, 0).shardOf("alpha"));
+        // Enough projects reach every shard
+        assertEquals(SHARDS, IntStream.range(0, 100).map(i -> router.shardOf("Project " + i)).distinct().count());
+    }
+
+    @Test
+    void projectQueriesStayOnTheirShard() {
+        saveSample();
+        int shard = repository.getRouter().shardOf("alpha");
+
+        assertEquals(List.of("Alpha 1", "Alpha 2", "alpha 3"),
+                repository.findByProjectIgnoreCase("ALPHA").stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Alpha 2"),
+                repository.findByProjectIgnoreCaseAndCompleted("Alpha", true).stream().map(Task::getTitle).toList());
+        assertEquals(3, repository.countByProjectIgnoreCase("alpha"));
+        assertEquals(3, countOn(shard, "UPPER(project) = 'ALPHA'"));
+        assertEquals(2, countOn(DEFAULT_SHARD, "project IS NULL OR project = ''"));
+    }
+
+    @Test
+    void globalQueriesMergeAllShardsInOrder() {
+        List<Task> saved = saveSample();
+        for (int i = 0; i < 40; i++) {
+            Task task = new Task("Task " + i, null, i % 7 == 0 ? null : LocalDate.now().plusDays(i % 11), "Project " + i % 9);
+            task.setPriority(Task.Priority.values()[i % 3]);
+            saved.add(repository.save(task));
+        }
+
+        for (TaskSort sort : TaskSort.values()) {
+            List<Long> expected = saved.stream().sorted(ShardedTaskRepository.comparatorOf(sort)).map(Task::getId).toList();
+            try (Stream<Task> merged = repository.streamAllSorted(sort)) {
+                assertEquals(expected, merged.map(Task::getId).toList(), sort.name());
+            }
+        }
+        assertEquals(saved.size(), repository.count());
+        assertEquals(saved.stream().filter(Task::isCompleted).count(), repository.countByCompleted(true));
+        assertEquals(saved.stream().filter(task -> task.isOverdueOn(LocalDate.now())).count(),
+                repository.countOverdueTasks(LocalDate.now()));
+        assertEquals(saved.stream().map(Task::getProject).filter(p -> p != null && !p.isEmpty()).distinct()
+                        .sorted(Comparator.naturalOrder()).toList(),
+                repository.findDistinctProjects());
+    }
+
+    @Test
+    void projectChangeMovesTheTaskAndKeepsItsId() {
+        Task task = repository.save(new Task("Movable", null, LocalDate.now(), "Alpha"));
+        String elsewhere = IntStream.range(0, 100).mapToObj(i -> "Project " + i)
+                .filter(p -> repository.getRouter().shardOf(p) != repository.getRouter().shardOf("Alpha"))
+                .findFirst().orElseThrow();
+
+        task.setProject(elsewhere);
+        repository.save(task);
+        assertEquals(1L, task.getVersion());
+        assertEquals(elsewhere, repository.findById(task.getId()).orElseThrow().getProject());
+        assertEquals(List.of(), repository.findByProjectIgnoreCase("Alpha"));
+        assertEquals(1, repository.count());
+
+        // A change based on the old version loses
+        Task stale = repository.findById(task.getId()).orElseThrow();
+        stale.setVersion(0L);
+        stale.setProject("Alpha");
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(stale));
+        assertEquals(1, repository.count());
+
+        assertTrue(repository.deleteById(task.getId()));
+        assertFalse(repository.findById(task.getId()).isPresent());
+    }
+
+    @Test
+    void interruptedMovesNeverShowATaskTwice() {
+        Task copied = repository.save(new Task("Copied", null, null, "Alpha"));
+        Task deleted = repository.save(new Task("Deleted", null, null, "Alpha"));
+        int source = repository.getRouter().shardOf("Alpha");
+        int target = (source + 1) % SHARDS;
+
+        // Died after the copy: the old row is still the visible one
+        insertPendingCopy(target, copied);
+        // Died after deleting the old row: hidden until recovered
+        insertPendingCopy(target, deleted);
+        new JdbcTemplate(dataSources.get(source)).update("DELETE FROM tasks WHERE id = ?", deleted.getId());
+
+        assertEquals(1, repository.count());
+        try (Stream<Task> all = repository.streamAllSorted(TaskSort.DEFAULT)) {
+            assertEquals(List.of(copied.getId()), all.map(Task::getId).toList());
+        }
+        assertEquals(source, repository.getRouter().shardOf(repository.findById(copied.getId()).orElseThrow().getProject()));
+        assertFalse(repository.findById(deleted.getId()).isPresent());
+
+        assertEquals(2, repository.recoverMoves());
+        assertEquals(2, repository.count());
+        assertEquals(1, countOn(source, "id = " + copied.getId()));
+        assertEquals(0, countOn(target, "id = " + copied.getId()));
+        assertEquals("Deleted", repository.findById(deleted.getId()).orElseThrow().getTitle());
+        assertEquals(0, countOn(target, "pending = TRUE"));
+        assertEquals(0, repository.recoverMoves());
+    }
+
+    @Test
+    void deletingATaskAlsoDeletesItsPendingCopy() {
+        Task task = repository.save(new Task("Task", null, null, "Alpha"));
+        int target = (repository.getRouter().shardOf("Alpha") + 1) % SHARDS;
+        insertPendingCopy(target, task);
+
+        assertTrue(repository.deleteById(task.getId()));
+        assertEquals(0, repository.recoverMoves());
+        assertFalse(repository.findById(task.getId()).isPresent());
+    }
+
+    /**
+     * The first step of a move that started long enough ago to count as stalled
+     */
+    private void insertPendingCopy(int shard, Task task) {
+        LocalDateTime started = LocalDateTime.now().minus(ShardedTaskRepository.MOVE_TIMEOUT).minusMinutes(1);
+        new JdbcTemplate(dataSources.get(shard)).update("INSERT INTO tasks (id, title, project, completed, "
+                        + "priority_rank, created_at, updated_at, version, pending) VALUES (?, ?, ?, ?, ?, ?, ?, ?, TRUE)",
+                task.getId(), task.getTitle(), task.getProject(), task.isCompleted(), 1, task.getCreatedAt(), started,
+                task.getVersion() + 1);
+    }
+
+    private List<Task> saveSample() {
+        Task done = new Task("Alpha 2", null, LocalDate.now().minusDays(1), "Alpha");
+        done.setCompleted(true);
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : List.of(new Task("Alpha 1", null, LocalDate.now().minusDays(3), "Alpha"), done,
+                new Task("alpha 3", null, null, "alpha"), new Task("Beta", null, LocalDate.now(), "Beta"),
+                new Task("No project", null, null, null), new Task("Blank project", null, null, ""))) {
+            tasks.add(repository.save(task));
+        }
+        return tasks;
+    }
+
+    private long countOn(int shard, String condition) {
+        return new JdbcTemplate(dataSources.get(shard))
+                .queryForObject("SELECT COUNT(*) FROM tasks WHERE " + condition, Long.class);
+    }
+}